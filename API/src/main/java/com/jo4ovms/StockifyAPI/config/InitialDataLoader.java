@@ -4,6 +4,7 @@ package com.jo4ovms.StockifyAPI.config;
 import com.jo4ovms.StockifyAPI.model.ERole;
 import com.jo4ovms.StockifyAPI.model.Role;
 import com.jo4ovms.StockifyAPI.repository.RoleRepository;
+import com.jo4ovms.StockifyAPI.util.SearchNormalizer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -23,6 +24,7 @@ public class InitialDataLoader implements CommandLineRunner {
     private JdbcTemplate jdbcTemplate;
 
     private static final Logger logger = Logger.getLogger(InitialDataLoader.class.getName());
+    private static final int BACKFILL_BATCH_SIZE = 1000;
 
 
     @Override
@@ -35,6 +37,11 @@ public class InitialDataLoader implements CommandLineRunner {
             logger.warning("Erro ao ativar a extensão unaccent: " + e.getMessage());
         }
 
+        enforceUniqueProductNames();
+        backfillSearchNames("tb_product");
+        backfillSearchNames("tb_supplier");
+        prepareTrigramSearch();
+
         logger.info("Checking roles in database...");
 
         if(roleRepository.count() == 0) {
@@ -49,4 +56,50 @@ public class InitialDataLoader implements CommandLineRunner {
             logger.info("Roles already exist. Skipping...");
         }
     }
+
+    private void enforceUniqueProductNames() {
+        int renamed = jdbcTemplate.update("UPDATE tb_product p " +
+                "SET name = LEFT(p.name, 100 - LENGTH(' (#' || p.id || ')')) || ' (#' || p.id || ')', search_name = NULL " +
+                "FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY supplier_id, name ORDER BY id) AS rn FROM tb_product) d " +
+                "WHERE d.id = p.id AND d.rn > 1");
+        if (renamed > 0) {
+            logger.warning("Renamed " + renamed + " products that duplicated a name within their supplier.");
+        }
+        Integer constraints = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_constraint WHERE conname = 'uk_product_supplier_name'",
+                Integer.class);
+        if (constraints == null || constraints == 0) {
+            jdbcTemplate.execute("ALTER TABLE tb_product ADD CONSTRAINT uk_product_supplier_name UNIQUE (supplier_id, name)");
+            logger.info("Unique product name constraint created.");
+        }
+    }
+
+    private void prepareTrigramSearch() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm;");
+        } catch (Exception e) {
+            logger.warning("Erro ao ativar a extensão pg_trgm: " + e.getMessage());
+        }
+        Integer installed = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_extension WHERE extname = 'pg_trgm'", Integer.class);
+        if (installed == null || installed == 0) {
+            throw new IllegalStateException("The pg_trgm extension is required by the search endpoints. " +
+                    "Install it in the database or grant the application role permission to create it.");
+        }
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_product_search_name_trgm ON tb_product USING gin (search_name gin_trgm_ops)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_supplier_search_name_trgm ON tb_supplier USING gin (search_name gin_trgm_ops)");
+        logger.info("Trigram search indexes ready.");
+    }
+
+    private void backfillSearchNames(String table) {
+        long lastId = 0;
+        List<Object[]> rows;
+        do {
+            rows = jdbcTemplate.query("SELECT id, name FROM " + table + " WHERE search_name IS NULL AND id > ? ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> new Object[]{SearchNormalizer.normalize(rs.getString("name")), rs.getLong("id")},
+                    lastId, BACKFILL_BATCH_SIZE);
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE " + table + " SET search_name = ? WHERE id = ?", rows);
+                lastId = (Long) rows.get(rows.size() - 1)[1];
+            }
+        } while (rows.size() == BACKFILL_BATCH_SIZE);
+    }
 }
@@ -0,0 +1,32 @@
+package com.jo4ovms.StockifyAPI.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfiguration implements WebMvcConfigurer {
+
+    private final long asyncTimeoutMs;
+    private final int asyncPoolSize;
+
+    public WebMvcConfiguration(@Value("${stockify.web.async-timeout-ms:3600000}") long asyncTimeoutMs,
+                               @Value("${stockify.web.async-pool-size:8}") int asyncPoolSize) {
+        this.asyncTimeoutMs = asyncTimeoutMs;
+        this.asyncPoolSize = asyncPoolSize;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(asyncPoolSize);
+        executor.setMaxPoolSize(asyncPoolSize);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.initialize();
+
+        configurer.setTaskExecutor(executor);
+        configurer.setDefaultTimeout(asyncTimeoutMs);
+    }
+}
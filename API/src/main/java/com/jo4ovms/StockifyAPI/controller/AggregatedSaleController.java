@@ -1,10 +1,15 @@
 package com.jo4ovms.StockifyAPI.controller;
 
+import com.jo4ovms.StockifyAPI.model.DTO.AggregateRebuildStatusDTO;
 import com.jo4ovms.StockifyAPI.model.DTO.SaleSummaryDTO;
+import com.jo4ovms.StockifyAPI.service.AggregatedSaleRebuildService;
 import com.jo4ovms.StockifyAPI.service.AggregatedSaleService;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -13,9 +18,11 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/aggregated-sales")
 public class AggregatedSaleController {
     private final AggregatedSaleService aggregatedSaleService;
+    private final AggregatedSaleRebuildService aggregatedSaleRebuildService;
 
-    public AggregatedSaleController(AggregatedSaleService aggregatedSaleService) {
+    public AggregatedSaleController(AggregatedSaleService aggregatedSaleService, AggregatedSaleRebuildService aggregatedSaleRebuildService) {
         this.aggregatedSaleService = aggregatedSaleService;
+        this.aggregatedSaleRebuildService = aggregatedSaleRebuildService;
     }
 
     @GetMapping
@@ -30,4 +37,17 @@ public class AggregatedSaleController {
         Page<SaleSummaryDTO> salesPage = aggregatedSaleService.getAllAggregatedSales(searchTerm, supplierId, page, size, sortDirection);
         return ResponseEntity.ok(salesPage);
     }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AggregateRebuildStatusDTO> startRebuild() {
+        AggregateRebuildStatusDTO status = aggregatedSaleRebuildService.startRebuild();
+        return new ResponseEntity<>(status, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AggregateRebuildStatusDTO> getRebuildStatus() {
+        return ResponseEntity.ok(aggregatedSaleRebuildService.getRebuildStatus());
+    }
 }
@@ -0,0 +1,33 @@
+package com.jo4ovms.StockifyAPI.controller;
+
+import com.jo4ovms.StockifyAPI.model.CatalogEntryType;
+import com.jo4ovms.StockifyAPI.model.DTO.AutocompleteSuggestionDTO;
+import com.jo4ovms.StockifyAPI.service.AutocompleteService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/autocomplete")
+public class AutocompleteController {
+
+    private final AutocompleteService autocompleteService;
+
+    public AutocompleteController(AutocompleteService autocompleteService) {
+        this.autocompleteService = autocompleteService;
+    }
+
+    @Operation(summary = "Autocomplete product and supplier names", description = "Prefix matches over accent-folded name tokens, served from memory.")
+    @GetMapping
+    public ResponseEntity<List<AutocompleteSuggestionDTO>> autocomplete(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) CatalogEntryType type,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(autocompleteService.suggest(query, type, limit));
+    }
+}
@@ -0,0 +1,27 @@
+package com.jo4ovms.StockifyAPI.controller;
+
+import com.jo4ovms.StockifyAPI.service.DashboardEventPublisher;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final DashboardEventPublisher dashboardEventPublisher;
+
+    public DashboardController(DashboardEventPublisher dashboardEventPublisher) {
+        this.dashboardEventPublisher = dashboardEventPublisher;
+    }
+
+    @Operation(summary = "Stream dashboard updates", description = "Server-Sent Events stream of stock summary changes, stock level alerts and new activity log entries.")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboard(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return dashboardEventPublisher.subscribe(lastEventId);
+    }
+}
@@ -0,0 +1,28 @@
+package com.jo4ovms.StockifyAPI.controller;
+
+import com.jo4ovms.StockifyAPI.util.KeysetSlice;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class KeysetModels {
+
+    private KeysetModels() {
+    }
+
+    static <T> CollectionModel<EntityModel<T>> toModel(KeysetSlice<T> slice) {
+        List<Link> links = new ArrayList<>();
+        links.add(Link.of(ServletUriComponentsBuilder.fromCurrentRequest().toUriString(), IanaLinkRelations.SELF));
+        if (slice.next() != null) {
+            links.add(Link.of(ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", slice.next())
+                    .toUriString(), IanaLinkRelations.NEXT));
+        }
+        return CollectionModel.of(slice.content().stream().map(EntityModel::of).toList(), links);
+    }
+}
@@ -1,6 +1,9 @@
 package com.jo4ovms.StockifyAPI.controller;
 
+import com.jo4ovms.StockifyAPI.model.CursorSort;
 import com.jo4ovms.StockifyAPI.model.DTO.ProductDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.ProductImportResultDTO;
+import com.jo4ovms.StockifyAPI.service.ProductImportService;
 import com.jo4ovms.StockifyAPI.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,12 +13,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
 
 
 @RestController
@@ -24,10 +32,13 @@ import org.springframework.web.bind.annotation.*;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
     private final PagedResourcesAssembler<ProductDTO> pagedResourcesAssembler;
 
-    public ProductController(ProductService productService, PagedResourcesAssembler<ProductDTO> pagedResourcesAssembler) {
+    public ProductController(ProductService productService, ProductImportService productImportService,
+                             PagedResourcesAssembler<ProductDTO> pagedResourcesAssembler) {
         this.productService = productService;
+        this.productImportService = productImportService;
         this.pagedResourcesAssembler = pagedResourcesAssembler;
     }
 
@@ -53,7 +64,8 @@ public class ProductController {
             @ApiResponse(responseCode = "201", description = "Product created",
                     content = { @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ProductDTO.class)) }),
-            @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content)
+            @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content),
+            @ApiResponse(responseCode = "409", description = "The supplier already has a product with this name", content = @Content)
     })
     @PostMapping
 
@@ -63,12 +75,29 @@ public class ProductController {
     }
 
 
+    @Operation(summary = "Import products from CSV", description = "Stream a CSV file with a 'name,value[,quantity,stockQuantity,stockValue]' header " +
+            "and upsert the supplier's products and stock by name. Invalid rows are reported and skipped.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ProductImportResultDTO.class)) }),
+            @ApiResponse(responseCode = "400", description = "Invalid CSV header", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Supplier not found", content = @Content)
+    })
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ProductImportResultDTO> importProducts(
+            @RequestParam Long supplierId,
+            @RequestParam("file") MultipartFile file) throws IOException {
+        return ResponseEntity.ok(productImportService.importCsv(supplierId, file.getInputStream()));
+    }
+
     @Operation(summary = "Update an existing product", description = "Update the product with the specified ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Product updated",
                     content = { @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ProductDTO.class)) }),
-            @ApiResponse(responseCode = "404", description = "Product not found", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Product not found", content = @Content),
+            @ApiResponse(responseCode = "409", description = "The supplier already has a product with this name", content = @Content)
     })
     @PutMapping("/{id}")
     public ResponseEntity<ProductDTO> updateProduct(
@@ -95,6 +124,15 @@ public class ProductController {
         return ResponseEntity.ok(pagedModel);
     }
 
+    @Operation(summary = "Retrieve products by cursor", description = "Keyset-paginated list of products. Pass the 'after' token from the previous response's next link.")
+    @GetMapping("/cursor")
+    public ResponseEntity<CollectionModel<EntityModel<ProductDTO>>> getProductsByCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "ID") CursorSort sort) {
+        return ResponseEntity.ok(KeysetModels.toModel(productService.findProductsAfter(sort, after, size)));
+    }
+
     @Operation(summary = "Retrieve a product by ID", description = "Retrieve the details of a product by its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Product retrieved",
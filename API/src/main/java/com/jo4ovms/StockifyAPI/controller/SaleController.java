@@ -2,14 +2,28 @@ package com.jo4ovms.StockifyAPI.controller;
 
 import com.jo4ovms.StockifyAPI.model.DTO.BestSellingItemDTO;
 import com.jo4ovms.StockifyAPI.model.DTO.DailySalesDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.DemandPredictionDTO;
 import com.jo4ovms.StockifyAPI.model.DTO.SaleDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.SaleLineResultDTO;
 import com.jo4ovms.StockifyAPI.model.DTO.SaleSummaryDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.SalesTimeSeriesPointDTO;
+import com.jo4ovms.StockifyAPI.model.ExportFormat;
+import com.jo4ovms.StockifyAPI.model.SalesPeriod;
+import com.jo4ovms.StockifyAPI.model.TimeGranularity;
+import com.jo4ovms.StockifyAPI.service.DemandForecastService;
+import com.jo4ovms.StockifyAPI.service.SaleExportService;
 import com.jo4ovms.StockifyAPI.service.SaleService;
+import com.jo4ovms.StockifyAPI.service.SalesTimeSeriesService;
+import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -19,20 +33,36 @@ import java.util.List;
 public class SaleController {
 
     private final SaleService saleService;
+    private final SalesTimeSeriesService salesTimeSeriesService;
+    private final SaleExportService saleExportService;
+    private final DemandForecastService demandForecastService;
 
-    public SaleController(SaleService saleService) {
+    public SaleController(SaleService saleService, SalesTimeSeriesService salesTimeSeriesService, SaleExportService saleExportService,
+                          DemandForecastService demandForecastService) {
         this.saleService = saleService;
+        this.salesTimeSeriesService = salesTimeSeriesService;
+        this.saleExportService = saleExportService;
+        this.demandForecastService = demandForecastService;
     }
 
     @PostMapping
-    public ResponseEntity<SaleDTO> registerSale(@RequestBody SaleDTO saleDTO) {
+    public ResponseEntity<SaleDTO> registerSale(@Valid @RequestBody SaleDTO saleDTO) {
         SaleDTO registeredSale = saleService.registerSale(saleDTO);
         return new ResponseEntity<>(registeredSale, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<SaleLineResultDTO>> registerSales(@RequestBody List<SaleDTO> saleDTOs) {
+        List<SaleLineResultDTO> results = saleService.registerSales(saleDTOs);
+        boolean anyRegistered = results.stream().anyMatch(SaleLineResultDTO::isSuccess);
+        return new ResponseEntity<>(results, anyRegistered ? HttpStatus.CREATED : HttpStatus.OK);
+    }
+
     @GetMapping("/best-sellers")
-    public ResponseEntity<List<BestSellingItemDTO>> getBestSellingItems() {
-        List<BestSellingItemDTO> bestSellingItems = saleService.getBestSellingItems();
+    public ResponseEntity<List<BestSellingItemDTO>> getBestSellingItems(
+            @RequestParam(defaultValue = "ALL") SalesPeriod period,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<BestSellingItemDTO> bestSellingItems = saleService.getBestSellingItems(period, limit);
         return new ResponseEntity<>(bestSellingItems, HttpStatus.OK);
     }
 
@@ -53,8 +83,48 @@ public class SaleController {
     }
 
     @GetMapping("/daily")
-    public List<DailySalesDTO> getSalesGroupedByDay(@RequestParam("month") int month) {
-        return saleService.getSalesGroupedByDay(month);
+    public List<DailySalesDTO> getSalesGroupedByDay(@RequestParam("month") int month,
+                                                    @RequestParam(required = false) Integer year) {
+        return saleService.getSalesGroupedByDay(year, month);
     }
 
+    @GetMapping("/timeseries")
+    public ResponseEntity<List<SalesTimeSeriesPointDTO>> getSalesTimeSeries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") TimeGranularity granularity,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) Long supplierId) {
+
+        List<SalesTimeSeriesPointDTO> points = salesTimeSeriesService.getTimeSeries(from, to, granularity, productId, supplierId);
+        return ResponseEntity.ok(points);
+    }
+
+    @GetMapping("/predictions")
+    public ResponseEntity<Page<DemandPredictionDTO>> getDemandPredictions(
+            @RequestParam(required = false) Long supplierId,
+            @RequestParam(defaultValue = "7") int horizonDays,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        Page<DemandPredictionDTO> predictions = demandForecastService.getPredictions(supplierId, horizonDays, page, size);
+        return ResponseEntity.ok(predictions);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSales(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long supplierId) {
+
+        StreamingResponseBody body = saleExportService.exportSales(format, gzip, from, to, supplierId);
+        String filename = "sales-export." + format.getExtension() + (gzip ? ".gz" : "");
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
 }
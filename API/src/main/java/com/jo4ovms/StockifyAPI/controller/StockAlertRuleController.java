@@ -0,0 +1,60 @@
+package com.jo4ovms.StockifyAPI.controller;
+
+import com.jo4ovms.StockifyAPI.model.DTO.StockAlertRuleDTO;
+import com.jo4ovms.StockifyAPI.service.stock.StockAlertRuleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/stock/alert-rules")
+@Tag(name = "Stock Alert Rules", description = "Per-product and per-supplier low stock alert thresholds")
+public class StockAlertRuleController {
+
+    private final StockAlertRuleService stockAlertRuleService;
+
+    public StockAlertRuleController(StockAlertRuleService stockAlertRuleService) {
+        this.stockAlertRuleService = stockAlertRuleService;
+    }
+
+    @Operation(summary = "List stock alert rules", description = "Products and suppliers without a rule use the configured default thresholds.")
+    @GetMapping
+    public ResponseEntity<List<StockAlertRuleDTO>> getAllRules() {
+        return ResponseEntity.ok(stockAlertRuleService.getAllRules());
+    }
+
+    @Operation(summary = "Create a stock alert rule", description = "Create a rule for exactly one product or one supplier.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Rule created",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = StockAlertRuleDTO.class)) }),
+            @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content),
+            @ApiResponse(responseCode = "409", description = "A rule already exists for this product or supplier", content = @Content)
+    })
+    @PostMapping
+    public ResponseEntity<StockAlertRuleDTO> createRule(@Valid @RequestBody StockAlertRuleDTO ruleDTO) {
+        return new ResponseEntity<>(stockAlertRuleService.createRule(ruleDTO), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Update a stock alert rule", description = "Update the rule with the specified ID.")
+    @PutMapping("/{id}")
+    public ResponseEntity<StockAlertRuleDTO> updateRule(@PathVariable Long id, @Valid @RequestBody StockAlertRuleDTO ruleDTO) {
+        return ResponseEntity.ok(stockAlertRuleService.updateRule(id, ruleDTO));
+    }
+
+    @Operation(summary = "Delete a stock alert rule", description = "Delete the rule with the specified ID.")
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long id) {
+        stockAlertRuleService.deleteRule(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,7 +1,14 @@
 package com.jo4ovms.StockifyAPI.controller;
 
+import com.jo4ovms.StockifyAPI.model.CursorSort;
+import com.jo4ovms.StockifyAPI.model.DTO.StockAdjustmentDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.StockAdjustmentResultDTO;
 import com.jo4ovms.StockifyAPI.model.DTO.StockDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.StockHistoryDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.StockLimitsDTO;
 import com.jo4ovms.StockifyAPI.model.DTO.StockSummaryDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.StockValuationDTO;
+import com.jo4ovms.StockifyAPI.service.stock.StockAdjustmentService;
 import com.jo4ovms.StockifyAPI.service.stock.StockService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,15 +19,19 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 
@@ -29,10 +40,13 @@ import java.util.Map;
 @Tag(name = "Stock", description = "Operations related to stock management")
 public class StockController {
     private final StockService stockService;
+    private final StockAdjustmentService stockAdjustmentService;
     private final PagedResourcesAssembler<StockDTO> pagedResourcesAssembler;
 
-    public StockController(StockService stockService, PagedResourcesAssembler<StockDTO> pagedResourcesAssembler) {
+    public StockController(StockService stockService, StockAdjustmentService stockAdjustmentService,
+                           PagedResourcesAssembler<StockDTO> pagedResourcesAssembler) {
         this.stockService = stockService;
+        this.stockAdjustmentService = stockAdjustmentService;
         this.pagedResourcesAssembler = pagedResourcesAssembler;
     }
 
@@ -64,6 +78,20 @@ public class StockController {
         return ResponseEntity.ok(updatedStock);
     }
 
+    @Operation(summary = "Adjust stocks in bulk", description = "Apply absolute (quantity) or relative (delta) adjustments to many stocks " +
+            "in one transaction. Either every adjustment is applied or none is.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stocks adjusted",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = StockAdjustmentResultDTO.class)) }),
+            @ApiResponse(responseCode = "400", description = "Invalid adjustment or insufficient quantity", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Stock not found", content = @Content)
+    })
+    @PatchMapping("/bulk")
+    public ResponseEntity<StockAdjustmentResultDTO> adjustStocks(@RequestBody List<StockAdjustmentDTO> adjustments) {
+        return ResponseEntity.ok(stockAdjustmentService.adjustStocks(adjustments));
+    }
+
 
     @Operation(summary = "Retrieve all stocks", description = "Retrieve a paginated list of all stock entries, with optional filtering by quantity and value.")
     @ApiResponses(value = {
@@ -82,14 +110,10 @@ public class StockController {
             @RequestParam(required = false) String query,
             @RequestParam(required = false) Long supplierId) {
 
-        Integer maxQuantityFromBackend = (Integer) stockService.getMaxQuantity();
-        Double maxValueFromBackend = (Double) stockService.getMaxValue();
-
-
         int minQty = (minQuantity != null) ? minQuantity : 0;
-        int maxQty = (maxQuantity != null) ? maxQuantity : (maxQuantityFromBackend != null ? maxQuantityFromBackend : Integer.MAX_VALUE);
+        int maxQty = (maxQuantity != null) ? maxQuantity : Integer.MAX_VALUE;
         double minVal = (minValue != null) ? minValue : 0.0;
-        double maxVal = (maxValue != null) ? maxValue : (maxValueFromBackend != null ? maxValueFromBackend : Double.MAX_VALUE);
+        double maxVal = (maxValue != null) ? maxValue : Double.MAX_VALUE;
 
 
         PageRequest pageable = PageRequest.of(page, size);
@@ -100,6 +124,15 @@ public class StockController {
         return ResponseEntity.ok(pagedModel);
     }
 
+    @Operation(summary = "Retrieve stocks by cursor", description = "Keyset-paginated list of stocks. Pass the 'after' token from the previous response's next link.")
+    @GetMapping("/cursor")
+    public ResponseEntity<CollectionModel<EntityModel<StockDTO>>> getStocksByCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "ID") CursorSort sort) {
+        return ResponseEntity.ok(KeysetModels.toModel(stockService.getStocksAfter(sort, after, size)));
+    }
+
     @Operation(summary = "Retrieve stock details", description = "Retrieve the details of a stock entry by its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Stock details retrieved successfully",
@@ -181,26 +214,35 @@ public class StockController {
         return ResponseEntity.ok(pagedModel);
     }
 
-    @Operation(summary = "Get min/max values for stock", description = "Retrieve minimum and maximum quantity and value in the stock")
+    @Operation(summary = "Get min/max values for stock", description = "Retrieve minimum and maximum quantity and value in the stock, optionally for one supplier")
     @GetMapping("/limits")
-    public ResponseEntity<Map<String, Object>> getMinMaxLimits() {
-        Object maxQuantity = stockService.getMaxQuantity();
-        Object maxValue = stockService.getMaxValue();
-
-        Map<String, Object> response = new HashMap<>();
-
-        response.put("minQuantity", 0);
-        response.put("maxQuantity", maxQuantity);
+    public ResponseEntity<StockLimitsDTO> getMinMaxLimits(@RequestParam(required = false) Long supplierId) {
+        return ResponseEntity.ok(stockService.getStockLimits(supplierId));
+    }
 
-        response.put("minValue", 0);
-        response.put("maxValue", maxValue);
+    @Operation(summary = "Stock level history", description = "Opening and closing quantity of a product's stock over a date range, " +
+            "with every movement in between and the running quantity after it.")
+    @GetMapping("/history")
+    public ResponseEntity<StockHistoryDTO> getStockHistory(
+            @RequestParam Long productId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(stockService.getStockHistory(productId, from, to));
+    }
 
-        return ResponseEntity.ok(response);
+    @Operation(summary = "Inventory valuation", description = "Total stock value (quantity x stock value) overall and per supplier, " +
+            "served from running totals.")
+    @GetMapping("/valuation")
+    public ResponseEntity<StockValuationDTO> getStockValuation() {
+        return ResponseEntity.ok(stockService.getStockValuation());
     }
 
     @GetMapping("/summary")
     @ResponseBody
-    public StockSummaryDTO getStockSummary() {
+    public StockSummaryDTO getStockSummary(@RequestParam(required = false) Integer threshold) {
+        if (threshold != null) {
+            return stockService.getStockSummary(threshold);
+        }
         try {
             return stockService.getStockSummary();
         } catch (Exception e) {
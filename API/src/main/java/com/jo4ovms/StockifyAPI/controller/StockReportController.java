@@ -1,6 +1,9 @@
 package com.jo4ovms.StockifyAPI.controller;
 
 import com.jo4ovms.StockifyAPI.model.DTO.StockDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.StockReportOverviewDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.SupplierReplenishmentDTO;
+import com.jo4ovms.StockifyAPI.service.stock.ReplenishmentService;
 import com.jo4ovms.StockifyAPI.service.stock.StockReportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -22,6 +25,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -30,14 +34,33 @@ import java.util.Map;
 public class StockReportController {
 
     private final StockReportService stockReportService;
+    private final ReplenishmentService replenishmentService;
     private final PagedResourcesAssembler<StockDTO> stockPagedResourcesAssembler;
 
-    public StockReportController(StockReportService stockReportService,
+    public StockReportController(StockReportService stockReportService, ReplenishmentService replenishmentService,
                                  PagedResourcesAssembler<StockDTO> stockPagedResourcesAssembler) {
         this.stockReportService = stockReportService;
+        this.replenishmentService = replenishmentService;
         this.stockPagedResourcesAssembler = stockPagedResourcesAssembler;
     }
 
+    @Operation(summary = "Generate stock overview", description = "Classify every matching stock into out-of-stock, critical, low and adequate bands in one pass, returning each band's count and first page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Overview generated",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Invalid input")
+    })
+    @GetMapping("/overview")
+    public ResponseEntity<StockReportOverviewDTO> getOverview(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) Long supplierId,
+            @RequestParam(required = false) Integer threshold,
+            @RequestParam(required = false) Integer criticalThreshold,
+            @RequestParam(defaultValue = "10") int size) {
+
+        return ResponseEntity.ok(stockReportService.getOverview(query, supplierId, threshold, criticalThreshold, size));
+    }
+
     @Operation(summary = "Generate low stock report", description = "Generate a report for products with stock below a certain threshold.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Report generated",
@@ -178,5 +201,15 @@ public class StockReportController {
         return ResponseEntity.ok(pagedModel);
     }
 
+    @Operation(summary = "Generate replenishment plan", description = "List products at or below their reorder point, grouped by supplier, with suggested order quantities derived from sales velocity and supplier lead time.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Plan generated",
+                    content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping("/replenishment")
+    public ResponseEntity<List<SupplierReplenishmentDTO>> getReplenishmentPlan(
+            @RequestParam(required = false) Long supplierId) {
 
-}
\ No newline at end of file
+        return ResponseEntity.ok(replenishmentService.getReplenishmentPlan(supplierId));
+    }
+}
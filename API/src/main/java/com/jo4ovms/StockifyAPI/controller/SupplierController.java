@@ -1,5 +1,6 @@
 package com.jo4ovms.StockifyAPI.controller;
 
+import com.jo4ovms.StockifyAPI.model.CursorSort;
 import com.jo4ovms.StockifyAPI.model.DTO.SupplierDTO;
 import com.jo4ovms.StockifyAPI.service.SupplierService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -10,6 +11,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.data.web.PagedResourcesAssembler;
@@ -81,6 +83,15 @@ public class SupplierController {
     }
 
 
+    @Operation(summary = "Retrieve suppliers by cursor", description = "Keyset-paginated list of suppliers. Pass the 'after' token from the previous response's next link.")
+    @GetMapping("/cursor")
+    public ResponseEntity<CollectionModel<EntityModel<SupplierDTO>>> getSuppliersByCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "ID") CursorSort sort) {
+        return ResponseEntity.ok(KeysetModels.toModel(supplierService.findSuppliersAfter(sort, after, size)));
+    }
+
     @Operation(summary = "Retrieve a supplier by ID", description = "Retrieve the details of a supplier by its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Supplier retrieved",
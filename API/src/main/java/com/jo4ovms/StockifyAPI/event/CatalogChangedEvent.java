@@ -0,0 +1,14 @@
+package com.jo4ovms.StockifyAPI.event;
+
+import com.jo4ovms.StockifyAPI.model.CatalogEntryType;
+
+public record CatalogChangedEvent(CatalogEntryType type, Long id, String name, Long supplierId, boolean deleted) {
+
+    public static CatalogChangedEvent saved(CatalogEntryType type, Long id, String name, Long supplierId) {
+        return new CatalogChangedEvent(type, id, name, supplierId, false);
+    }
+
+    public static CatalogChangedEvent deleted(CatalogEntryType type, Long id) {
+        return new CatalogChangedEvent(type, id, null, null, true);
+    }
+}
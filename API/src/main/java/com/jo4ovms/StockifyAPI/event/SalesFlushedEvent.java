@@ -0,0 +1,6 @@
+package com.jo4ovms.StockifyAPI.event;
+
+import java.util.Set;
+
+public record SalesFlushedEvent(Set<Long> productIds) {
+}
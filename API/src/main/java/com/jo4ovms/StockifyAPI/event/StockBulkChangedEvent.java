@@ -0,0 +1,4 @@
+package com.jo4ovms.StockifyAPI.event;
+
+public record StockBulkChangedEvent(Long supplierId) {
+}
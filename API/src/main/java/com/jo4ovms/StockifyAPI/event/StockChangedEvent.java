@@ -0,0 +1,24 @@
+package com.jo4ovms.StockifyAPI.event;
+
+import com.jo4ovms.StockifyAPI.model.StockMovementType;
+
+public record StockChangedEvent(Long productId, Long supplierId, Integer oldQuantity, Integer newQuantity,
+                                Double oldValue, Double newValue, StockMovementType movementType) {
+
+    public StockChangedEvent(Long productId, Long supplierId, Integer oldQuantity, Integer newQuantity,
+                             Double oldValue, Double newValue) {
+        this(productId, supplierId, oldQuantity, newQuantity, oldValue, newValue, StockMovementType.ADJUSTMENT);
+    }
+
+    public static StockChangedEvent created(Long productId, Long supplierId, int quantity, Double value) {
+        return new StockChangedEvent(productId, supplierId, null, quantity, null, value, StockMovementType.CREATE);
+    }
+
+    public static StockChangedEvent deleted(Long productId, Long supplierId, int quantity, Double value) {
+        return new StockChangedEvent(productId, supplierId, quantity, null, value, null, StockMovementType.DELETE);
+    }
+
+    public int quantityDelta() {
+        return (newQuantity == null ? 0 : newQuantity) - (oldQuantity == null ? 0 : oldQuantity);
+    }
+}
@@ -0,0 +1,7 @@
+package com.jo4ovms.StockifyAPI.exception;
+
+public class TooManyConnectionsException extends RuntimeException {
+    public TooManyConnectionsException(String message) {
+        super(message);
+    }
+}
@@ -2,7 +2,9 @@ package com.jo4ovms.StockifyAPI.mapper;
 
 import com.jo4ovms.StockifyAPI.model.DTO.LogDTO;
 import com.jo4ovms.StockifyAPI.model.Log;
+import com.jo4ovms.StockifyAPI.model.OutboxLog;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface LogMapper {
@@ -10,4 +12,11 @@ public interface LogMapper {
     LogDTO toLogDTO(Log log);
 
     Log toLog(LogDTO logDTO);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    OutboxLog toOutboxLog(LogDTO logDTO);
+
+    @Mapping(target = "id", ignore = true)
+    LogDTO toLogDTO(OutboxLog outboxLog);
 }
@@ -14,5 +14,6 @@ public interface ProductMapper {
     ProductDTO toProductDTO(Product product);
 
     @Mapping(source = "supplierId", target = "supplier.id")
+    @Mapping(target = "searchName", ignore = true)
     Product toProduct(ProductDTO productDTO);
 }
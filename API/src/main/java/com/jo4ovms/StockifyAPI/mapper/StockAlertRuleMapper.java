@@ -0,0 +1,13 @@
+package com.jo4ovms.StockifyAPI.mapper;
+
+import com.jo4ovms.StockifyAPI.model.DTO.StockAlertRuleDTO;
+import com.jo4ovms.StockifyAPI.model.StockAlertRule;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface StockAlertRuleMapper {
+
+    StockAlertRuleDTO toStockAlertRuleDTO(StockAlertRule rule);
+
+    StockAlertRule toStockAlertRule(StockAlertRuleDTO ruleDTO);
+}
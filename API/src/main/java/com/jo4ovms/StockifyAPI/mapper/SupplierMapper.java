@@ -3,11 +3,13 @@ package com.jo4ovms.StockifyAPI.mapper;
 import com.jo4ovms.StockifyAPI.model.DTO.SupplierDTO;
 import com.jo4ovms.StockifyAPI.model.Supplier;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface SupplierMapper {
 
     SupplierDTO toSupplierDTO(Supplier supplier);
 
+    @Mapping(target = "searchName", ignore = true)
     Supplier toSupplier(SupplierDTO supplierDTO);
 }
\ No newline at end of file
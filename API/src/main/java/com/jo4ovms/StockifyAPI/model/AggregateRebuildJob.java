@@ -0,0 +1,46 @@
+package com.jo4ovms.StockifyAPI.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@Table(name = "tb_aggregate_rebuild_job")
+public class AggregateRebuildJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(nullable = false)
+    private Long firstSaleId;
+
+    @Column(nullable = false)
+    private Long upperSaleId;
+
+    @Column(nullable = false)
+    private Long processedUpTo;
+
+    @Column(nullable = false)
+    private Integer chunkSize;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String errorMessage;
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
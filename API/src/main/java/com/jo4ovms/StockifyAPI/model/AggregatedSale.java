@@ -11,16 +11,22 @@ import java.time.LocalDate;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@Table(name = "aggregated_sale",
+        uniqueConstraints = @UniqueConstraint(name = "uk_aggregated_sale_product_date", columnNames = {"product_id", "sale_date"}),
+        indexes = @Index(name = "idx_aggregated_sale_date", columnList = "sale_date"))
 public class AggregatedSale {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @ManyToOne
+    @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
 
+    @Column(name = "total_quantity_sold", nullable = false)
     private Long totalQuantitySold;
 
+    @Column(name = "sale_date", nullable = false)
     private LocalDate saleDate;
 }
@@ -0,0 +1,6 @@
+package com.jo4ovms.StockifyAPI.model;
+
+public enum CatalogEntryType {
+    PRODUCT,
+    SUPPLIER
+}
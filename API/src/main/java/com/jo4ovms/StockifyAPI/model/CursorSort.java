@@ -0,0 +1,7 @@
+package com.jo4ovms.StockifyAPI.model;
+
+public enum CursorSort {
+    ID,
+    QUANTITY,
+    SUPPLIER_NAME
+}
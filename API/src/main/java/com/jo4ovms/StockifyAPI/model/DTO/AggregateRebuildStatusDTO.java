@@ -0,0 +1,22 @@
+package com.jo4ovms.StockifyAPI.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AggregateRebuildStatusDTO {
+
+    private Long jobId;
+    private String status;
+    private Long processedUpTo;
+    private Long upperSaleId;
+    private double progress;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String errorMessage;
+}
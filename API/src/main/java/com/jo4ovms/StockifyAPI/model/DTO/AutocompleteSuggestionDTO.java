@@ -0,0 +1,17 @@
+package com.jo4ovms.StockifyAPI.model.DTO;
+
+import com.jo4ovms.StockifyAPI.model.CatalogEntryType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutocompleteSuggestionDTO {
+
+    private CatalogEntryType type;
+    private Long id;
+    private String name;
+    private Long supplierId;
+}
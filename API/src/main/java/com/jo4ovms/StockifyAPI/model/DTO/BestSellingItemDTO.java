@@ -8,6 +8,7 @@ import lombok.Data;
 @AllArgsConstructor
 public class BestSellingItemDTO {
 
+    private Long productId;
     private String productName;
     private Long totalQuantitySold;
 }
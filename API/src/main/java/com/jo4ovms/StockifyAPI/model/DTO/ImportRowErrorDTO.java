@@ -0,0 +1,14 @@
+package com.jo4ovms.StockifyAPI.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowErrorDTO {
+
+    private long line;
+    private String message;
+}
@@ -1,9 +1,13 @@
 package com.jo4ovms.StockifyAPI.model.DTO;
 
 import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ProductDTO {
 
     private Long id;
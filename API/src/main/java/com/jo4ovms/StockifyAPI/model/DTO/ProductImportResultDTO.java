@@ -0,0 +1,20 @@
+package com.jo4ovms.StockifyAPI.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResultDTO {
+
+    private long processedRows;
+    private long createdProducts;
+    private long updatedProducts;
+    private long failedRows;
+    private List<ImportRowErrorDTO> errors;
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,25 @@
+package com.jo4ovms.StockifyAPI.model.DTO;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplenishmentItemDTO {
+
+    @JsonIgnore
+    private Long supplierId;
+    @JsonIgnore
+    private String supplierName;
+    @JsonIgnore
+    private Integer leadTimeDays;
+    private Long productId;
+    private String productName;
+    private Integer currentQuantity;
+    private Double dailyVelocity;
+    private Integer reorderPoint;
+    private Integer suggestedOrderQuantity;
+}
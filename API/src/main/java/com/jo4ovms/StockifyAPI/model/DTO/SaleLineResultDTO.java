@@ -0,0 +1,17 @@
+package com.jo4ovms.StockifyAPI.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaleLineResultDTO {
+
+    private int line;
+    private Long productId;
+    private Integer quantity;
+    private boolean success;
+    private String message;
+}
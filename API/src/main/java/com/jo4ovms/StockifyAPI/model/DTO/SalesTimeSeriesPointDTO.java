@@ -0,0 +1,14 @@
+package com.jo4ovms.StockifyAPI.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class SalesTimeSeriesPointDTO {
+
+    private LocalDateTime periodStart;
+    private Long totalQuantitySold;
+}
@@ -0,0 +1,16 @@
+package com.jo4ovms.StockifyAPI.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustmentDTO {
+
+    private Long stockId;
+    private Integer quantity;
+    private Integer delta;
+    private Double value;
+}
@@ -0,0 +1,16 @@
+package com.jo4ovms.StockifyAPI.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustmentResultDTO {
+
+    private int requested;
+    private int adjusted;
+    private int unchanged;
+    private long netQuantityChange;
+}
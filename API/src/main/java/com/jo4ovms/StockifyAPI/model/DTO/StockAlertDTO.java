@@ -0,0 +1,23 @@
+package com.jo4ovms.StockifyAPI.model.DTO;
+
+import com.jo4ovms.StockifyAPI.model.StockAlertLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAlertDTO {
+
+    private Long productId;
+    private Long supplierId;
+    private StockAlertLevel previousLevel;
+    private StockAlertLevel level;
+    private int quantity;
+    private int lowThreshold;
+    private int criticalThreshold;
+    private LocalDateTime occurredAt;
+}
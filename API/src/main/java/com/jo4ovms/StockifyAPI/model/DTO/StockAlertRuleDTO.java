@@ -0,0 +1,30 @@
+package com.jo4ovms.StockifyAPI.model.DTO;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAlertRuleDTO {
+
+    private Long id;
+
+    private Long productId;
+
+    private Long supplierId;
+
+    @NotNull(message = "Low threshold is required.")
+    @PositiveOrZero(message = "Low threshold must be zero or positive.")
+    private Integer lowThreshold;
+
+    @NotNull(message = "Critical threshold is required.")
+    @PositiveOrZero(message = "Critical threshold must be zero or positive.")
+    private Integer criticalThreshold;
+
+    @PositiveOrZero(message = "Hysteresis must be zero or positive.")
+    private Integer hysteresis;
+}
@@ -0,0 +1,22 @@
+package com.jo4ovms.StockifyAPI.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockHistoryDTO {
+
+    private Long productId;
+    private LocalDate from;
+    private LocalDate to;
+    private int openingQuantity;
+    private int closingQuantity;
+    private List<StockMovementDTO> movements;
+    private boolean truncated;
+}
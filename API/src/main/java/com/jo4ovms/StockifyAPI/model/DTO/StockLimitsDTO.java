@@ -0,0 +1,16 @@
+package com.jo4ovms.StockifyAPI.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLimitsDTO {
+
+    private Integer minQuantity;
+    private Integer maxQuantity;
+    private Double minValue;
+    private Double maxValue;
+}
@@ -0,0 +1,20 @@
+package com.jo4ovms.StockifyAPI.model.DTO;
+
+import com.jo4ovms.StockifyAPI.model.StockMovementType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovementDTO {
+
+    private Long id;
+    private StockMovementType type;
+    private int quantityDelta;
+    private int quantityAfter;
+    private LocalDateTime occurredAt;
+}
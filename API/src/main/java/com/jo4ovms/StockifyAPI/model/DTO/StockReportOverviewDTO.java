@@ -0,0 +1,18 @@
+package com.jo4ovms.StockifyAPI.model.DTO;
+
+import com.jo4ovms.StockifyAPI.model.StockBand;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReportOverviewDTO {
+
+    private int criticalThreshold;
+    private int threshold;
+    private Map<StockBand, StockBandDTO> bands;
+}
@@ -0,0 +1,19 @@
+package com.jo4ovms.StockifyAPI.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockValuationDTO {
+
+    private long stockCount;
+    private long totalQuantity;
+    private BigDecimal totalValue;
+    private List<SupplierValuationDTO> suppliers;
+}
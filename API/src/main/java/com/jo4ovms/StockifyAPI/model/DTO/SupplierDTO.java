@@ -2,6 +2,8 @@ package com.jo4ovms.StockifyAPI.model.DTO;
 
 import br.com.caelum.stella.bean.validation.CNPJ;
 import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
@@ -37,5 +39,9 @@ public class SupplierDTO {
     @CNPJ(message = "Invalid CNPJ format.")
     private String cnpj;
 
+    @Min(value = 0, message = "Lead time cannot be negative.")
+    @Max(value = 365, message = "Lead time cannot exceed 365 days.")
+    private Integer leadTimeDays;
+
 
 }
@@ -0,0 +1,19 @@
+package com.jo4ovms.StockifyAPI.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupplierReplenishmentDTO {
+
+    private Long supplierId;
+    private String supplierName;
+    private Integer leadTimeDays;
+    private Integer totalOrderQuantity;
+    private List<ReplenishmentItemDTO> items;
+}
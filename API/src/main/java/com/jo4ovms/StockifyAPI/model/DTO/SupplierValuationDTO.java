@@ -0,0 +1,19 @@
+package com.jo4ovms.StockifyAPI.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupplierValuationDTO {
+
+    private Long supplierId;
+    private String supplierName;
+    private long stockCount;
+    private long totalQuantity;
+    private BigDecimal totalValue;
+}
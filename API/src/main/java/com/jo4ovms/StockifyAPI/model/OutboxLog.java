@@ -0,0 +1,44 @@
+package com.jo4ovms.StockifyAPI.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@Table(name = "tb_log_outbox")
+public class OutboxLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime timestamp;
+
+    private Long userId;
+
+    @Column(nullable = false)
+    private String operationType;
+
+    @Column(nullable = false)
+    private String entity;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(columnDefinition = "TEXT")
+    private String oldValue;
+
+    @Column(columnDefinition = "TEXT")
+    private String newValue;
+
+    @Column(columnDefinition = "TEXT")
+    private String details;
+
+    @Column(name = "dead_lettered", nullable = false, columnDefinition = "boolean default false")
+    private boolean deadLettered;
+}
@@ -1,12 +1,15 @@
 package com.jo4ovms.StockifyAPI.model;
 
 
+import com.jo4ovms.StockifyAPI.util.SearchNormalizer;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.data.annotation.CreatedDate;
@@ -17,8 +20,15 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "tb_product")
+@Table(name = "tb_product", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_product_supplier_name", columnNames = {"supplier_id", "name"})
+}, indexes = {
+        @Index(name = "idx_product_quantity_id", columnList = "quantity, id"),
+        @Index(name = "idx_product_supplier_id_id", columnList = "supplier_id, id")
+})
 public class Product {
 
     @Id
@@ -40,6 +50,9 @@ public class Product {
     @Min(value = 0, message = "Quantity cannot be negative.")
     private Integer quantity;
 
+    @Column(name = "search_name", length = 100)
+    private String searchName;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "supplier_id", nullable = false)
     private Supplier supplier;
@@ -55,6 +68,9 @@ public class Product {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-
-
+    @PrePersist
+    @PreUpdate
+    private void normalizeSearchName() {
+        searchName = SearchNormalizer.normalize(name);
+    }
 }
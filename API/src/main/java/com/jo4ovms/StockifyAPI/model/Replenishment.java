@@ -0,0 +1,41 @@
+package com.jo4ovms.StockifyAPI.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "tb_replenishment", indexes = @Index(name = "idx_replenishment_supplier", columnList = "supplier_id"))
+public class Replenishment {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "supplier_id", nullable = false)
+    private Long supplierId;
+
+    @Column(name = "daily_velocity", nullable = false)
+    private Double dailyVelocity;
+
+    @Column(name = "lead_time_days", nullable = false)
+    private Integer leadTimeDays;
+
+    @Column(name = "safety_stock", nullable = false)
+    private Integer safetyStock;
+
+    @Column(name = "reorder_point", nullable = false)
+    private Integer reorderPoint;
+
+    @Column(name = "order_up_to_level", nullable = false)
+    private Integer orderUpToLevel;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+}
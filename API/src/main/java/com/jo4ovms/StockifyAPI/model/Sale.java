@@ -9,7 +9,10 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "tb_sale")
+@Table(name = "tb_sale", indexes = {
+        @Index(name = "idx_sale_date", columnList = "sale_date"),
+        @Index(name = "idx_sale_product_date", columnList = "product_id, sale_date")
+})
 public class Sale {
 
     @Id
@@ -0,0 +1,21 @@
+package com.jo4ovms.StockifyAPI.model;
+
+import java.time.LocalDate;
+
+public enum SalesPeriod {
+    TODAY(0),
+    WEEK(6),
+    MONTH(29),
+    YEAR(364),
+    ALL(-1);
+
+    private final int daysBack;
+
+    SalesPeriod(int daysBack) {
+        this.daysBack = daysBack;
+    }
+
+    public LocalDate startDate(LocalDate today) {
+        return daysBack < 0 ? null : today.minusDays(daysBack);
+    }
+}
@@ -13,7 +13,9 @@ import java.time.LocalDateTime;
 @Data
 @Entity
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "tb_stock")
+@Table(name = "tb_stock", indexes = {
+        @Index(name = "idx_stock_quantity_id", columnList = "quantity, id")
+})
 public class Stock {
 
     @Id
@@ -0,0 +1,8 @@
+package com.jo4ovms.StockifyAPI.model;
+
+public enum StockAlertLevel {
+    OK,
+    LOW,
+    CRITICAL,
+    OUT_OF_STOCK
+}
@@ -0,0 +1,32 @@
+package com.jo4ovms.StockifyAPI.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Entity
+@Data
+@Table(name = "tb_stock_alert_rule", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_stock_alert_rule_product", columnNames = "product_id"),
+        @UniqueConstraint(name = "uk_stock_alert_rule_supplier", columnNames = "supplier_id")
+})
+public class StockAlertRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "supplier_id")
+    private Long supplierId;
+
+    @Column(name = "low_threshold", nullable = false)
+    private Integer lowThreshold;
+
+    @Column(name = "critical_threshold", nullable = false)
+    private Integer criticalThreshold;
+
+    @Column(nullable = false)
+    private Integer hysteresis;
+}
@@ -0,0 +1,8 @@
+package com.jo4ovms.StockifyAPI.model;
+
+public enum StockBand {
+    OUT_OF_STOCK,
+    CRITICAL,
+    LOW,
+    ADEQUATE
+}
@@ -0,0 +1,32 @@
+package com.jo4ovms.StockifyAPI.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@Table(name = "stock_movement", indexes = {
+        @Index(name = "idx_stock_movement_product_time", columnList = "product_id, occurred_at"),
+        @Index(name = "idx_stock_movement_product_id", columnList = "product_id, id")
+})
+public class StockMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false, updatable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "movement_type", nullable = false, updatable = false, length = 20)
+    private StockMovementType movementType;
+
+    @Column(name = "quantity_delta", nullable = false, updatable = false)
+    private Integer quantityDelta;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,10 @@
+package com.jo4ovms.StockifyAPI.model;
+
+public enum StockMovementType {
+    OPENING,
+    CREATE,
+    ADJUSTMENT,
+    SALE,
+    IMPORT,
+    DELETE
+}
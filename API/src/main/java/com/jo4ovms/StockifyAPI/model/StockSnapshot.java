@@ -0,0 +1,28 @@
+package com.jo4ovms.StockifyAPI.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@Table(name = "stock_snapshot", indexes = @Index(name = "idx_stock_snapshot_product_as_of", columnList = "product_id, as_of"))
+public class StockSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false, updatable = false)
+    private Long productId;
+
+    @Column(nullable = false, updatable = false)
+    private Integer quantity;
+
+    @Column(name = "last_movement_id", nullable = false, updatable = false)
+    private Long lastMovementId;
+
+    @Column(name = "as_of", nullable = false, updatable = false)
+    private LocalDateTime asOf;
+}
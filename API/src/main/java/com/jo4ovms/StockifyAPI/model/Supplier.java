@@ -2,11 +2,16 @@ package com.jo4ovms.StockifyAPI.model;
 
 
 import br.com.caelum.stella.bean.validation.CNPJ;
+import com.jo4ovms.StockifyAPI.util.SearchNormalizer;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -17,10 +22,14 @@ import java.util.List;
 
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "supplier")
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "tb_supplier")
+@Table(name = "tb_supplier", indexes = {
+        @Index(name = "idx_supplier_name_id", columnList = "name, id")
+})
 public class Supplier  {
 
     @Id
@@ -32,6 +41,9 @@ public class Supplier  {
     @Column(nullable = false)
     private String name;
 
+    @Column(name = "search_name", length = 100)
+    private String searchName;
+
     @NotBlank
     @Size(max = 15)
     @Column(nullable = false)
@@ -54,6 +66,11 @@ public class Supplier  {
     @CNPJ
     private String cnpj;
 
+    @Min(0)
+    @Max(365)
+    @Column(name = "lead_time_days")
+    private Integer leadTimeDays;
+
     @OneToMany(mappedBy = "supplier", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private List<Product> products;
 
@@ -65,5 +82,9 @@ public class Supplier  {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-
+    @PrePersist
+    @PreUpdate
+    private void normalizeSearchName() {
+        searchName = SearchNormalizer.normalize(name);
+    }
 }
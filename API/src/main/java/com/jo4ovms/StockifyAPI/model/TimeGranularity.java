@@ -0,0 +1,31 @@
+package com.jo4ovms.StockifyAPI.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+public enum TimeGranularity {
+    HOUR,
+    DAY,
+    WEEK,
+    MONTH;
+
+    public LocalDateTime truncate(LocalDateTime dateTime) {
+        return switch (this) {
+            case HOUR -> dateTime.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> dateTime.truncatedTo(ChronoUnit.DAYS);
+            case WEEK -> dateTime.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+            case MONTH -> dateTime.toLocalDate().withDayOfMonth(1).atStartOfDay();
+        };
+    }
+
+    public LocalDateTime next(LocalDateTime bucketStart) {
+        return switch (this) {
+            case HOUR -> bucketStart.plusHours(1);
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.jo4ovms.StockifyAPI.repository;
+
+import com.jo4ovms.StockifyAPI.model.AggregateRebuildJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AggregateRebuildJobRepository extends JpaRepository<AggregateRebuildJob, Long> {
+    Optional<AggregateRebuildJob> findFirstByStatusOrderByIdDesc(AggregateRebuildJob.Status status);
+    Optional<AggregateRebuildJob> findFirstByOrderByIdDesc();
+}
@@ -1,6 +1,7 @@
 package com.jo4ovms.StockifyAPI.repository;
 
 import com.jo4ovms.StockifyAPI.model.AggregatedSale;
+import com.jo4ovms.StockifyAPI.model.DTO.BestSellingItemDTO;
 import com.jo4ovms.StockifyAPI.model.DTO.SaleSummaryDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,31 +10,48 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
-import java.util.Optional;
+import java.util.List;
 
 public interface AggregatedSaleRepository extends JpaRepository<AggregatedSale, Long> {
 
-    @Query("SELECT new com.jo4ovms.StockifyAPI.model.DTO.SaleSummaryDTO(a.product.name, a.totalQuantitySold) " +
-            "FROM AggregatedSale a " +
-            "WHERE (:searchTerm IS NULL OR LOWER(a.product.name) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
-            "AND (:supplierId IS NULL OR a.product.supplier.id = :supplierId)")
+    @Query(value = "SELECT new com.jo4ovms.StockifyAPI.model.DTO.SaleSummaryDTO(p.name, SUM(a.totalQuantitySold)) " +
+            "FROM AggregatedSale a JOIN a.product p " +
+            "WHERE (:searchTerm IS NULL OR p.searchName LIKE CONCAT('%', :searchTerm, '%')) " +
+            "AND (:supplierId IS NULL OR p.supplier.id = :supplierId) " +
+            "GROUP BY p.id, p.name",
+            countQuery = "SELECT COUNT(DISTINCT p.id) FROM AggregatedSale a JOIN a.product p " +
+                    "WHERE (:searchTerm IS NULL OR p.searchName LIKE CONCAT('%', :searchTerm, '%')) " +
+                    "AND (:supplierId IS NULL OR p.supplier.id = :supplierId)")
     Page<SaleSummaryDTO> findSalesGroupedByProductAndSupplier(
             @Param("searchTerm") String searchTerm,
             @Param("supplierId") Long supplierId,
             Pageable pageable);
 
-    Optional<AggregatedSale> findByProductId(Long productId);
-
-    @Query("SELECT new com.jo4ovms.StockifyAPI.model.DTO.SaleSummaryDTO(a.product.name, a.totalQuantitySold) " +
-            "FROM AggregatedSale a " +
-            "WHERE (:searchTerm IS NULL OR LOWER(a.product.name) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
-            "AND (:supplierId IS NULL OR a.product.supplier.id = :supplierId) " +
-            "AND (CAST(a.saleDate AS date) BETWEEN :startDate AND :endDate)")
+    @Query(value = "SELECT new com.jo4ovms.StockifyAPI.model.DTO.SaleSummaryDTO(p.name, SUM(a.totalQuantitySold)) " +
+            "FROM AggregatedSale a JOIN a.product p " +
+            "WHERE a.saleDate BETWEEN :startDate AND :endDate " +
+            "AND (:searchTerm IS NULL OR p.searchName LIKE CONCAT('%', :searchTerm, '%')) " +
+            "AND (:supplierId IS NULL OR p.supplier.id = :supplierId) " +
+            "GROUP BY p.id, p.name",
+            countQuery = "SELECT COUNT(DISTINCT p.id) FROM AggregatedSale a JOIN a.product p " +
+                    "WHERE a.saleDate BETWEEN :startDate AND :endDate " +
+                    "AND (:searchTerm IS NULL OR p.searchName LIKE CONCAT('%', :searchTerm, '%')) " +
+                    "AND (:supplierId IS NULL OR p.supplier.id = :supplierId)")
     Page<SaleSummaryDTO> findSalesGroupedByProductAndSupplierAndDate(
             @Param("searchTerm") String searchTerm,
             @Param("supplierId") Long supplierId,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate,
             Pageable pageable);
-}
 
+    @Query("SELECT new com.jo4ovms.StockifyAPI.model.DTO.BestSellingItemDTO(p.id, p.name, SUM(a.totalQuantitySold)) " +
+            "FROM AggregatedSale a JOIN a.product p " +
+            "GROUP BY p.id, p.name ORDER BY SUM(a.totalQuantitySold) DESC, p.id")
+    List<BestSellingItemDTO> findBestSellingProducts(Pageable pageable);
+
+    @Query("SELECT new com.jo4ovms.StockifyAPI.model.DTO.BestSellingItemDTO(p.id, p.name, SUM(a.totalQuantitySold)) " +
+            "FROM AggregatedSale a JOIN a.product p " +
+            "WHERE a.saleDate >= :startDate " +
+            "GROUP BY p.id, p.name ORDER BY SUM(a.totalQuantitySold) DESC, p.id")
+    List<BestSellingItemDTO> findBestSellingProductsSince(@Param("startDate") LocalDate startDate, Pageable pageable);
+}
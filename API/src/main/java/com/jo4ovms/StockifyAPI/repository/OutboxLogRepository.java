@@ -0,0 +1,29 @@
+package com.jo4ovms.StockifyAPI.repository;
+
+import com.jo4ovms.StockifyAPI.model.OutboxLog;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxLogRepository extends JpaRepository<OutboxLog, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM OutboxLog o WHERE o.deadLettered = false ORDER BY o.id")
+    List<OutboxLog> findNextBatch(Pageable pageable);
+
+    Optional<OutboxLog> findFirstByDeadLetteredFalseOrderByIdAsc();
+
+    long countByDeadLetteredFalse();
+
+    long countByDeadLetteredTrue();
+}
@@ -1,11 +1,14 @@
 package com.jo4ovms.StockifyAPI.repository;
 
+import com.jo4ovms.StockifyAPI.model.DTO.ProductDTO;
 import com.jo4ovms.StockifyAPI.model.Product;
 import com.jo4ovms.StockifyAPI.model.Supplier;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,9 +16,32 @@ import java.util.List;
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     Page<Product> findAll(Pageable pageable);
-    Page<Product> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    boolean existsBySupplierIdAndName(Long supplierId, String name);
+
+    boolean existsBySupplierIdAndNameAndIdNot(Long supplierId, String name, Long id);
+
+    String PRODUCT_DTO_SELECT = "SELECT new com.jo4ovms.StockifyAPI.model.DTO.ProductDTO(p.id, p.name, p.value, p.quantity, " +
+            "sup.id, sup.name) FROM Product p JOIN p.supplier sup ";
+
+    @Query(PRODUCT_DTO_SELECT + "WHERE p.id > :afterId ORDER BY p.id")
+    Slice<ProductDTO> findProductDTOsAfterId(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query(PRODUCT_DTO_SELECT + "WHERE (p.quantity, p.id) > (:afterQuantity, :afterId) ORDER BY p.quantity, p.id")
+    Slice<ProductDTO> findProductDTOsAfterQuantity(@Param("afterQuantity") int afterQuantity, @Param("afterId") long afterId, Pageable pageable);
+
+    @Query(PRODUCT_DTO_SELECT + "WHERE (sup.name, sup.id, p.id) > (:afterName, :afterSupplierId, :afterId) ORDER BY sup.name, sup.id, p.id")
+    Slice<ProductDTO> findProductDTOsAfterSupplierName(@Param("afterName") String afterName, @Param("afterSupplierId") long afterSupplierId,
+                                                       @Param("afterId") long afterId, Pageable pageable);
+    @Query(value = "SELECT p FROM Product p WHERE p.searchName LIKE CONCAT('%', :term, '%') " +
+            "ORDER BY function('similarity', p.searchName, :term) DESC, p.id",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.searchName LIKE CONCAT('%', :term, '%')")
+    Page<Product> searchByName(@Param("term") String term, Pageable pageable);
     Page<Product> findBySupplier(Supplier supplier, Pageable pageable);
     List<Product> findByQuantityGreaterThan(Integer quantity);
-    Page<Product> findBySupplierAndNameContainingIgnoreCase(Supplier supplier, String name, Pageable pageable);
+    @Query(value = "SELECT p FROM Product p WHERE p.supplier = :supplier AND p.searchName LIKE CONCAT('%', :term, '%') " +
+            "ORDER BY function('similarity', p.searchName, :term) DESC, p.id",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.supplier = :supplier AND p.searchName LIKE CONCAT('%', :term, '%')")
+    Page<Product> searchBySupplierAndName(@Param("supplier") Supplier supplier, @Param("term") String term, Pageable pageable);
 
 }
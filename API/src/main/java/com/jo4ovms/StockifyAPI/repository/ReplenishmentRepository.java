@@ -0,0 +1,22 @@
+package com.jo4ovms.StockifyAPI.repository;
+
+import com.jo4ovms.StockifyAPI.model.DTO.ReplenishmentItemDTO;
+import com.jo4ovms.StockifyAPI.model.Replenishment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReplenishmentRepository extends JpaRepository<Replenishment, Long> {
+
+    @Query("SELECT new com.jo4ovms.StockifyAPI.model.DTO.ReplenishmentItemDTO(sup.id, sup.name, r.leadTimeDays, p.id, p.name, " +
+            "s.quantity, r.dailyVelocity, r.reorderPoint, r.orderUpToLevel - s.quantity) " +
+            "FROM Replenishment r, Stock s JOIN s.product p JOIN p.supplier sup " +
+            "WHERE p.id = r.productId AND s.quantity <= r.reorderPoint AND r.orderUpToLevel > s.quantity " +
+            "AND (:supplierId IS NULL OR sup.id = :supplierId) " +
+            "ORDER BY sup.name, sup.id, p.name")
+    List<ReplenishmentItemDTO> findItemsToReorder(@Param("supplierId") Long supplierId);
+}
@@ -2,12 +2,16 @@ package com.jo4ovms.StockifyAPI.repository;
 
 import com.jo4ovms.StockifyAPI.model.ERole;
 import com.jo4ovms.StockifyAPI.model.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByName(ERole name);
 }
@@ -1,6 +1,5 @@
 package com.jo4ovms.StockifyAPI.repository;
 
-import com.jo4ovms.StockifyAPI.model.DTO.BestSellingItemDTO;
 import com.jo4ovms.StockifyAPI.model.DTO.DailySalesDTO;
 import com.jo4ovms.StockifyAPI.model.DTO.SaleSummaryDTO;
 import com.jo4ovms.StockifyAPI.model.Sale;
@@ -11,17 +10,14 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface SaleRepository extends JpaRepository<Sale, Long> {
 
-    @Query("SELECT new com.jo4ovms.StockifyAPI.model.DTO.BestSellingItemDTO(s.product.name, SUM(s.quantity)) " +
-            "FROM Sale s GROUP BY s.product.name ORDER BY SUM(s.quantity) DESC")
-    List<BestSellingItemDTO> findBestSellingItems();
-
     @Query("SELECT new com.jo4ovms.StockifyAPI.model.DTO.DailySalesDTO(DAY(s.saleDate), SUM(s.quantity)) " +
-            "FROM Sale s WHERE MONTH(s.saleDate) = :month GROUP BY DAY(s.saleDate) ORDER BY DAY(s.saleDate)")
-    List<DailySalesDTO> findSalesGroupedByDay(int month);
+            "FROM Sale s WHERE s.saleDate >= :start AND s.saleDate < :end GROUP BY DAY(s.saleDate) ORDER BY DAY(s.saleDate)")
+    List<DailySalesDTO> findSalesGroupedByDay(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
 }
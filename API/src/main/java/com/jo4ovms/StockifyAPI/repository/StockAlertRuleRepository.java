@@ -0,0 +1,13 @@
+package com.jo4ovms.StockifyAPI.repository;
+
+import com.jo4ovms.StockifyAPI.model.StockAlertRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StockAlertRuleRepository extends JpaRepository<StockAlertRule, Long> {
+
+    boolean existsByProductIdAndIdNot(Long productId, Long id);
+
+    boolean existsBySupplierIdAndIdNot(Long supplierId, Long id);
+}
@@ -1,72 +1,139 @@
 package com.jo4ovms.StockifyAPI.repository;
 
 
+import com.jo4ovms.StockifyAPI.model.DTO.StockDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.StockLimitsDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.StockSummaryDTO;
 import com.jo4ovms.StockifyAPI.model.Stock;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
 @Repository
-public interface StockRepository extends JpaRepository<Stock, Long>, JpaSpecificationExecutor<Stock> {
-
-    Page<Stock> findByProductSupplierId(Long supplierId, Pageable pageable);
-    @Query("SELECT s FROM Stock s WHERE LOWER(s.product.name) LIKE LOWER(CONCAT('%', :query, '%')) " +
-            "OR LOWER(s.product.supplier.name) LIKE LOWER(CONCAT('%', :query, '%'))")
-    Page<Stock> searchByProductNameOrSupplier(@Param("query") String query, Pageable pageable);
-    @Query("SELECT MAX(s.quantity) FROM Stock s")
-    Object findMaxQuantity();
-    @Query("SELECT MAX(s.value) FROM Stock s")
-    Object findMaxValue();
-
-    @Query("SELECT s FROM Stock s WHERE " +
-            "(:query IS NULL OR LOWER(s.product.name) LIKE LOWER(CONCAT('%', :query, '%'))) AND " +
-            "(:supplierId IS NULL OR s.product.supplier.id = :supplierId) AND " +
-            "s.quantity <= :threshold")
-    Page<Stock> searchCriticalStockByFilters(
+public interface StockRepository extends JpaRepository<Stock, Long> {
+
+    String STOCK_DTO_SELECT = "SELECT new com.jo4ovms.StockifyAPI.model.DTO.StockDTO(s.id, s.quantity, s.available, s.value, " +
+            "p.id, p.name, sup.id, sup.name) FROM Stock s JOIN s.product p JOIN p.supplier sup ";
+    String PRODUCT_OR_SUPPLIER_MATCH = "p.id IN (" +
+            "SELECT pn.id FROM Product pn WHERE pn.searchName LIKE CONCAT('%', :query, '%') " +
+            "UNION SELECT ps.id FROM Product ps JOIN ps.supplier su WHERE su.searchName LIKE CONCAT('%', :query, '%')) ";
+
+    @Query(value = STOCK_DTO_SELECT,
+            countQuery = "SELECT COUNT(s) FROM Stock s")
+    Page<StockDTO> findAllStockDTOs(Pageable pageable);
+
+    @Query(STOCK_DTO_SELECT + "WHERE s.id > :afterId ORDER BY s.id")
+    Slice<StockDTO> findStockDTOsAfterId(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query(STOCK_DTO_SELECT + "WHERE (s.quantity, s.id) > (:afterQuantity, :afterId) ORDER BY s.quantity, s.id")
+    Slice<StockDTO> findStockDTOsAfterQuantity(@Param("afterQuantity") int afterQuantity, @Param("afterId") long afterId, Pageable pageable);
+
+    @Query(STOCK_DTO_SELECT + "WHERE (sup.name, sup.id, p.id) > (:afterName, :afterSupplierId, :afterProductId) ORDER BY sup.name, sup.id, p.id")
+    Slice<StockDTO> findStockDTOsAfterSupplierName(@Param("afterName") String afterName, @Param("afterSupplierId") long afterSupplierId,
+                                                   @Param("afterProductId") long afterProductId, Pageable pageable);
+
+    @Query(value = STOCK_DTO_SELECT + "WHERE sup.id = :supplierId",
+            countQuery = "SELECT COUNT(s) FROM Stock s WHERE s.product.supplier.id = :supplierId")
+    Page<StockDTO> findStockDTOsBySupplierId(@Param("supplierId") Long supplierId, Pageable pageable);
+
+    @Query(value = STOCK_DTO_SELECT + "WHERE " + PRODUCT_OR_SUPPLIER_MATCH +
+            "ORDER BY GREATEST(function('similarity', p.searchName, :query), function('similarity', sup.searchName, :query)) DESC, s.id",
+            countQuery = "SELECT COUNT(s) FROM Stock s JOIN s.product p WHERE " + PRODUCT_OR_SUPPLIER_MATCH)
+    Page<StockDTO> searchByProductNameOrSupplier(@Param("query") String query, Pageable pageable);
+
+    @Query(value = STOCK_DTO_SELECT + "WHERE (:query IS NULL OR p.searchName LIKE CONCAT('%', :query, '%')) " +
+            "AND (:supplierId IS NULL OR sup.id = :supplierId) " +
+            "AND s.quantity BETWEEN :minQuantity AND :maxQuantity AND s.value BETWEEN :minValue AND :maxValue",
+            countQuery = "SELECT COUNT(s) FROM Stock s JOIN s.product p " +
+                    "WHERE (:query IS NULL OR p.searchName LIKE CONCAT('%', :query, '%')) " +
+                    "AND (:supplierId IS NULL OR p.supplier.id = :supplierId) " +
+                    "AND s.quantity BETWEEN :minQuantity AND :maxQuantity AND s.value BETWEEN :minValue AND :maxValue")
+    Page<StockDTO> findFilteredStockDTOs(
+            @Param("query") String query,
+            @Param("supplierId") Long supplierId,
+            @Param("minQuantity") int minQuantity,
+            @Param("maxQuantity") int maxQuantity,
+            @Param("minValue") double minValue,
+            @Param("maxValue") double maxValue,
+            Pageable pageable);
+
+    @Query("SELECT new com.jo4ovms.StockifyAPI.model.DTO.StockLimitsDTO(MIN(s.quantity), MAX(s.quantity), MIN(s.value), MAX(s.value)) " +
+            "FROM Stock s WHERE (:supplierId IS NULL OR s.product.supplier.id = :supplierId)")
+    StockLimitsDTO findLimits(@Param("supplierId") Long supplierId);
+
+    @Query("SELECT new com.jo4ovms.StockifyAPI.model.DTO.StockSummaryDTO(COUNT(s), " +
+            "COALESCE(SUM(CASE WHEN s.quantity <= 0 THEN 1L ELSE 0L END), 0L), " +
+            "COALESCE(SUM(CASE WHEN s.quantity >= :threshold THEN 1L ELSE 0L END), 0L), " +
+            "COALESCE(SUM(CASE WHEN s.quantity > 0 AND s.quantity < :threshold THEN 1L ELSE 0L END), 0L)) " +
+            "FROM Stock s")
+    StockSummaryDTO summarize(@Param("threshold") int threshold);
+
+    @Query(value = STOCK_DTO_SELECT + "WHERE (:query IS NULL OR p.searchName LIKE CONCAT('%', :query, '%')) " +
+            "AND (:supplierId IS NULL OR sup.id = :supplierId) AND s.quantity <= :threshold",
+            countQuery = "SELECT COUNT(s) FROM Stock s JOIN s.product p " +
+                    "WHERE (:query IS NULL OR p.searchName LIKE CONCAT('%', :query, '%')) " +
+                    "AND (:supplierId IS NULL OR p.supplier.id = :supplierId) AND s.quantity <= :threshold")
+    Page<StockDTO> searchCriticalStockByFilters(
             @Param("query") String query,
             @Param("supplierId") Long supplierId,
             @Param("threshold") int threshold,
             Pageable pageable);
 
-    @Query("SELECT s FROM Stock s WHERE " +
-            "(:query IS NULL OR LOWER(s.product.name) LIKE LOWER(CONCAT('%', :query, '%'))) AND " +
-            "(:supplierId IS NULL OR s.product.supplier.id = :supplierId) AND " +
-            "s.quantity >= :threshold")
-    Page<Stock> searchAdequateStockByFilters(
+    @Query(value = STOCK_DTO_SELECT + "WHERE (:query IS NULL OR p.searchName LIKE CONCAT('%', :query, '%')) " +
+            "AND (:supplierId IS NULL OR sup.id = :supplierId) AND s.quantity >= :threshold",
+            countQuery = "SELECT COUNT(s) FROM Stock s JOIN s.product p " +
+                    "WHERE (:query IS NULL OR p.searchName LIKE CONCAT('%', :query, '%')) " +
+                    "AND (:supplierId IS NULL OR p.supplier.id = :supplierId) AND s.quantity >= :threshold")
+    Page<StockDTO> searchAdequateStockByFilters(
             @Param("query") String query,
             @Param("supplierId") Long supplierId,
             @Param("threshold") int threshold,
             Pageable pageable);
 
-    @Query("SELECT s FROM Stock s WHERE " +
-            "(:query IS NULL OR LOWER(s.product.name) LIKE LOWER(CONCAT('%', :query, '%'))) AND " +
-            "(:supplierId IS NULL OR s.product.supplier.id = :supplierId) AND " +
-            "s.quantity BETWEEN :minQuantity AND :maxQuantity")
-    Page<Stock> searchLowStockByFilters(
+    @Query(value = STOCK_DTO_SELECT + "WHERE (:query IS NULL OR p.searchName LIKE CONCAT('%', :query, '%')) " +
+            "AND (:supplierId IS NULL OR sup.id = :supplierId) AND s.quantity BETWEEN :minQuantity AND :maxQuantity",
+            countQuery = "SELECT COUNT(s) FROM Stock s JOIN s.product p " +
+                    "WHERE (:query IS NULL OR p.searchName LIKE CONCAT('%', :query, '%')) " +
+                    "AND (:supplierId IS NULL OR p.supplier.id = :supplierId) AND s.quantity BETWEEN :minQuantity AND :maxQuantity")
+    Page<StockDTO> searchLowStockByFilters(
             @Param("query") String query,
             @Param("supplierId") Long supplierId,
             @Param("minQuantity") int minQuantity,
             @Param("maxQuantity") int maxQuantity,
             Pageable pageable);
 
-    @Query("SELECT s FROM Stock s WHERE " +
-            "(:query IS NULL OR LOWER(s.product.name) LIKE LOWER(CONCAT('%', :query, '%'))) AND " +
-            "(:supplierId IS NULL OR s.product.supplier.id = :supplierId) AND " +
-            "s.quantity = 0")
-    Page<Stock> searchOutOfStockByFilters(
+    @Query(value = STOCK_DTO_SELECT + "WHERE (:query IS NULL OR p.searchName LIKE CONCAT('%', :query, '%')) " +
+            "AND (:supplierId IS NULL OR sup.id = :supplierId) AND s.quantity = 0",
+            countQuery = "SELECT COUNT(s) FROM Stock s JOIN s.product p " +
+                    "WHERE (:query IS NULL OR p.searchName LIKE CONCAT('%', :query, '%')) " +
+                    "AND (:supplierId IS NULL OR p.supplier.id = :supplierId) AND s.quantity = 0")
+    Page<StockDTO> searchOutOfStockByFilters(
             @Param("query") String query,
             @Param("supplierId") Long supplierId,
             Pageable pageable);
 
     Optional<Stock> findByProductId(Long productId);
     boolean existsByProductId(Long productId);
+
+    @Query("SELECT s FROM Stock s JOIN FETCH s.product p WHERE p.id IN :productIds")
+    List<Stock> findAllByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Stock s SET s.quantity = s.quantity - :quantity, " +
+            "s.available = CASE WHEN s.quantity - :quantity > 0 THEN true ELSE false END, " +
+            "s.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE s.product.id = :productId AND s.quantity >= :quantity")
+    int decrementQuantity(@Param("productId") Long productId, @Param("quantity") int quantity);
 }
 
 
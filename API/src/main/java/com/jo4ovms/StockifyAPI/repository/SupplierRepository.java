@@ -1,13 +1,18 @@
 package com.jo4ovms.StockifyAPI.repository;
 
 import com.jo4ovms.StockifyAPI.model.Supplier;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,10 +20,20 @@ import java.util.List;
 @Repository
 public interface SupplierRepository extends JpaRepository<Supplier, Long> {
 
-    Page<Supplier> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    @Query(value = "SELECT s FROM Supplier s WHERE s.searchName LIKE CONCAT('%', :term, '%') " +
+            "ORDER BY function('similarity', s.searchName, :term) DESC, s.id",
+            countQuery = "SELECT COUNT(s) FROM Supplier s WHERE s.searchName LIKE CONCAT('%', :term, '%')")
+    Page<Supplier> searchByName(@Param("term") String term, Pageable pageable);
     boolean existsByCnpj(String cnpj);
 
+    @Query("SELECT s FROM Supplier s WHERE s.id > :afterId ORDER BY s.id")
+    Slice<Supplier> findAfterId(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT s FROM Supplier s WHERE (s.name, s.id) > (:afterName, :afterId) ORDER BY s.name, s.id")
+    Slice<Supplier> findAfterName(@Param("afterName") String afterName, @Param("afterId") long afterId, Pageable pageable);
+
     @Query("SELECT DISTINCT s.productType FROM Supplier s")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<String> findDistinctProductTypes();
     Page<Supplier> findAll(Specification<Supplier> specification, Pageable pageable);
 }
@@ -0,0 +1,191 @@
+package com.jo4ovms.StockifyAPI.service;
+
+import com.jo4ovms.StockifyAPI.event.SalesFlushedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Component
+public class AggregatedSaleAccumulator {
+
+    private static final Logger logger = LoggerFactory.getLogger(AggregatedSaleAccumulator.class);
+
+    private static final String UPSERT_SQL = "INSERT INTO aggregated_sale (product_id, sale_date, total_quantity_sold) VALUES (?, ?, ?) " +
+            "ON CONFLICT (product_id, sale_date) DO UPDATE " +
+            "SET total_quantity_sold = aggregated_sale.total_quantity_sold + EXCLUDED.total_quantity_sold";
+
+    private static final Comparator<BucketKey> KEY_ORDER = Comparator.comparing(BucketKey::productId)
+            .thenComparing(BucketKey::saleDate);
+
+    private final ConcurrentHashMap<BucketKey, LongAdder> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ReentrantReadWriteLock holdLock = new ReentrantReadWriteLock();
+    private volatile ConcurrentLinkedQueue<HeldDelta> held;
+    private long replacedUpToSaleId = Long.MIN_VALUE;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AggregatedSaleAccumulator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                     ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void add(Long productId, LocalDate saleDate, long quantity, long lastSaleId) {
+        BucketKey key = new BucketKey(productId, saleDate);
+        holdLock.readLock().lock();
+        try {
+            ConcurrentLinkedQueue<HeldDelta> heldDeltas = held;
+            if (lastSaleId <= replacedUpToSaleId) {
+                return;
+            }
+            if (heldDeltas != null) {
+                heldDeltas.add(new HeldDelta(key, quantity, lastSaleId));
+            } else {
+                addPending(key, quantity);
+            }
+        } finally {
+            holdLock.readLock().unlock();
+        }
+    }
+
+    private void addPending(BucketKey key, long quantity) {
+        pending.computeIfAbsent(key, bucket -> new LongAdder()).add(quantity);
+    }
+
+    @Scheduled(fixedDelayString = "${stockify.aggregates.flush-interval-ms:2000}")
+    public void flush() {
+        Set<Long> flushedProductIds = flushPending();
+        if (!flushedProductIds.isEmpty()) {
+            eventPublisher.publishEvent(new SalesFlushedEvent(flushedProductIds));
+        }
+    }
+
+    public <T> T flushThen(Supplier<T> read) {
+        flushLock.lock();
+        try {
+            flush();
+            return read.get();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private Set<Long> flushPending() {
+        flushLock.lock();
+        try {
+            Map<BucketKey, Long> deltas = drain();
+            if (deltas.isEmpty()) {
+                return Set.of();
+            }
+
+            List<Object[]> rows = new ArrayList<>(deltas.size());
+            deltas.forEach((key, quantity) -> rows.add(new Object[]{key.productId(), Date.valueOf(key.saleDate()), quantity}));
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_SQL, rows));
+            } catch (Exception e) {
+                deltas.forEach(this::addPending);
+                logger.warn("Could not flush {} sales aggregate buckets, will retry: {}", deltas.size(), e.getMessage());
+                return Set.of();
+            }
+            return deltas.keySet().stream().map(BucketKey::productId).collect(Collectors.toSet());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public void replaceAggregates(LongSupplier swap) {
+        flushLock.lock();
+        try {
+            setHeld(new ConcurrentLinkedQueue<>());
+            long includedUpToSaleId;
+            try {
+                includedUpToSaleId = swap.getAsLong();
+            } catch (RuntimeException e) {
+                releaseHeld(Long.MIN_VALUE);
+                throw e;
+            }
+            pending.values().forEach(LongAdder::reset);
+            releaseHeld(includedUpToSaleId);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void setHeld(ConcurrentLinkedQueue<HeldDelta> heldDeltas) {
+        holdLock.writeLock().lock();
+        try {
+            held = heldDeltas;
+        } finally {
+            holdLock.writeLock().unlock();
+        }
+    }
+
+    private void releaseHeld(long includedUpToSaleId) {
+        holdLock.writeLock().lock();
+        try {
+            held.stream()
+                    .filter(delta -> delta.lastSaleId() > includedUpToSaleId)
+                    .forEach(delta -> addPending(delta.key(), delta.quantity()));
+            held = null;
+            replacedUpToSaleId = Math.max(replacedUpToSaleId, includedUpToSaleId);
+        } finally {
+            holdLock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushPending();
+        if (!pending.isEmpty() && pending.values().stream().anyMatch(adder -> adder.sum() != 0)) {
+            logger.error("Sales aggregate buckets could not be flushed on shutdown; rebuild aggregates from tb_sale to recover them.");
+        }
+    }
+
+    private Map<BucketKey, Long> drain() {
+        Map<BucketKey, Long> deltas = new TreeMap<>(KEY_ORDER);
+        LocalDate staleBefore = LocalDate.now().minusDays(1);
+
+        pending.forEach((key, adder) -> {
+            long quantity = adder.sumThenReset();
+            if (quantity != 0) {
+                deltas.put(key, quantity);
+            } else if (key.saleDate().isBefore(staleBefore)) {
+                pending.remove(key, adder);
+            }
+        });
+        return deltas;
+    }
+
+    public record BucketKey(Long productId, LocalDate saleDate) {
+    }
+
+    private record HeldDelta(BucketKey key, long quantity, long lastSaleId) {
+    }
+}
@@ -0,0 +1,261 @@
+package com.jo4ovms.StockifyAPI.service;
+
+import com.jo4ovms.StockifyAPI.exception.DuplicateResourceException;
+import com.jo4ovms.StockifyAPI.exception.ResourceNotFoundException;
+import com.jo4ovms.StockifyAPI.model.AggregateRebuildJob;
+import com.jo4ovms.StockifyAPI.model.DTO.AggregateRebuildStatusDTO;
+import com.jo4ovms.StockifyAPI.repository.AggregateRebuildJobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class AggregatedSaleRebuildService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AggregatedSaleRebuildService.class);
+
+    private static final String CREATE_SHADOW_SQL = "CREATE TABLE IF NOT EXISTS aggregated_sale_rebuild (" +
+            "product_id BIGINT NOT NULL, sale_date DATE NOT NULL, total_quantity_sold BIGINT NOT NULL, " +
+            "PRIMARY KEY (product_id, sale_date))";
+
+    private static final String CHUNK_SQL = "SELECT product_id, CAST(sale_date AS DATE) AS sale_day, SUM(quantity) AS total " +
+            "FROM tb_sale WHERE id BETWEEN ? AND ? GROUP BY product_id, CAST(sale_date AS DATE)";
+
+    private static final String SHADOW_UPSERT_SQL = "INSERT INTO aggregated_sale_rebuild (product_id, sale_date, total_quantity_sold) VALUES (?, ?, ?) " +
+            "ON CONFLICT (product_id, sale_date) DO UPDATE " +
+            "SET total_quantity_sold = aggregated_sale_rebuild.total_quantity_sold + EXCLUDED.total_quantity_sold";
+
+    private static final String LOCK_SALES_SQL = "LOCK TABLE tb_sale IN SHARE MODE";
+
+    private static final String LEGACY_AGGREGATES_SQL = "SELECT EXISTS (SELECT 1 FROM aggregated_sale a " +
+            "WHERE a.total_quantity_sold > (SELECT COALESCE(SUM(s.quantity), 0) FROM tb_sale s " +
+            "WHERE s.product_id = a.product_id AND s.sale_date >= a.sale_date AND s.sale_date < a.sale_date + 1))";
+
+    private static final Comparator<AggregatedSaleAccumulator.BucketKey> KEY_ORDER =
+            Comparator.comparing(AggregatedSaleAccumulator.BucketKey::productId)
+                    .thenComparing(AggregatedSaleAccumulator.BucketKey::saleDate);
+
+    private final AggregateRebuildJobRepository jobRepository;
+    private final AggregatedSaleAccumulator aggregatedSaleAccumulator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor();
+    private volatile boolean stopping;
+    private final int chunkSize;
+    private final int parallelism;
+    private final long shutdownTimeoutSeconds;
+
+    public AggregatedSaleRebuildService(AggregateRebuildJobRepository jobRepository, AggregatedSaleAccumulator aggregatedSaleAccumulator,
+                                        JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                        @Value("${stockify.aggregates.rebuild.chunk-size:50000}") int chunkSize,
+                                        @Value("${stockify.aggregates.rebuild.parallelism:4}") int parallelism,
+                                        @Value("${stockify.aggregates.rebuild.shutdown-timeout-seconds:30}") long shutdownTimeoutSeconds) {
+        this.jobRepository = jobRepository;
+        this.aggregatedSaleAccumulator = aggregatedSaleAccumulator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+    }
+
+    public synchronized AggregateRebuildStatusDTO startRebuild() {
+        if (jobRepository.findFirstByStatusOrderByIdDesc(AggregateRebuildJob.Status.RUNNING).isPresent()) {
+            throw new DuplicateResourceException("An aggregate rebuild is already running.");
+        }
+
+        AggregateRebuildJob job = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute(CREATE_SHADOW_SQL);
+            jdbcTemplate.execute("DELETE FROM aggregated_sale_rebuild");
+
+            jdbcTemplate.execute(LOCK_SALES_SQL);
+            Long firstSaleId = jdbcTemplate.queryForObject("SELECT COALESCE(MIN(id), 1) FROM tb_sale", Long.class);
+            Long upperSaleId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM tb_sale", Long.class);
+
+            AggregateRebuildJob newJob = new AggregateRebuildJob();
+            newJob.setStatus(AggregateRebuildJob.Status.RUNNING);
+            newJob.setFirstSaleId(firstSaleId);
+            newJob.setUpperSaleId(upperSaleId);
+            newJob.setProcessedUpTo(firstSaleId - 1);
+            newJob.setChunkSize(chunkSize);
+            newJob.setStartedAt(LocalDateTime.now());
+            return jobRepository.save(newJob);
+        });
+
+        jobExecutor.submit(() -> runJob(job.getId()));
+        return toStatusDTO(job);
+    }
+
+    public AggregateRebuildStatusDTO getRebuildStatus() {
+        return jobRepository.findFirstByOrderByIdDesc()
+                .map(this::toStatusDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("No aggregate rebuild has been started."));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRebuild() {
+        jobRepository.findFirstByStatusOrderByIdDesc(AggregateRebuildJob.Status.RUNNING).ifPresentOrElse(job -> {
+            logger.info("Resuming aggregate rebuild {} after sale id {}", job.getId(), job.getProcessedUpTo());
+            jobExecutor.submit(() -> runJob(job.getId()));
+        }, this::rebuildLegacyAggregates);
+    }
+
+    private void rebuildLegacyAggregates() {
+        if (jobRepository.findFirstByStatusOrderByIdDesc(AggregateRebuildJob.Status.COMPLETED).isPresent()) {
+            return;
+        }
+        try {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(LEGACY_AGGREGATES_SQL, Boolean.class))) {
+                logger.info("Found sales aggregates holding all-time totals, rebuilding them from tb_sale");
+                startRebuild();
+            }
+        } catch (Exception e) {
+            logger.warn("Could not check for legacy sales aggregates, run the rebuild manually: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping = true;
+        jobExecutor.shutdown();
+        if (!jobExecutor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+            jobExecutor.shutdownNow();
+        }
+    }
+
+    private void runJob(Long jobId) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            AggregateRebuildJob job = jobRepository.findById(jobId).orElseThrow();
+
+            while (job.getProcessedUpTo() < job.getUpperSaleId() && !stopping && !Thread.currentThread().isInterrupted()) {
+                List<long[]> wave = nextWave(job);
+                Map<AggregatedSaleAccumulator.BucketKey, Long> totals = pool.submit(() -> wave.parallelStream()
+                                .map(range -> aggregateRange(range[0], range[1]))
+                                .reduce(new TreeMap<>(KEY_ORDER), this::merge))
+                        .get();
+
+                long waveEnd = wave.get(wave.size() - 1)[1];
+                AggregateRebuildJob current = job;
+                job = transactionTemplate.execute(status -> {
+                    upsertShadow(totals);
+                    current.setProcessedUpTo(waveEnd);
+                    return jobRepository.save(current);
+                });
+            }
+
+            if (job.getProcessedUpTo() >= job.getUpperSaleId()) {
+                swap(job);
+            } else {
+                logger.info("Aggregate rebuild {} paused after sale id {}", jobId, job.getProcessedUpTo());
+            }
+        } catch (InterruptedException | CancellationException e) {
+            Thread.currentThread().interrupt();
+            logger.info("Aggregate rebuild {} interrupted, it will resume on the next start", jobId);
+        } catch (Exception e) {
+            if (stopping) {
+                logger.info("Aggregate rebuild {} stopped during shutdown, it will resume on the next start: {}", jobId, e.getMessage());
+                return;
+            }
+            logger.error("Aggregate rebuild {} failed: {}", jobId, e.getMessage());
+            jobRepository.findById(jobId).ifPresent(job -> {
+                job.setStatus(AggregateRebuildJob.Status.FAILED);
+                job.setErrorMessage(e.getMessage());
+                job.setFinishedAt(LocalDateTime.now());
+                jobRepository.save(job);
+            });
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<long[]> nextWave(AggregateRebuildJob job) {
+        List<long[]> wave = new ArrayList<>(parallelism);
+        long start = job.getProcessedUpTo() + 1;
+        for (int i = 0; i < parallelism && start <= job.getUpperSaleId(); i++) {
+            long end = Math.min(start + job.getChunkSize() - 1, job.getUpperSaleId());
+            wave.add(new long[]{start, end});
+            start = end + 1;
+        }
+        return wave;
+    }
+
+    private void swap(AggregateRebuildJob job) {
+        aggregatedSaleAccumulator.replaceAggregates(() -> transactionTemplate.execute(status -> {
+            jdbcTemplate.execute(LOCK_SALES_SQL);
+            Long lastSaleId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM tb_sale", Long.class);
+            if (lastSaleId > job.getUpperSaleId()) {
+                upsertShadow(aggregateRange(job.getUpperSaleId() + 1, lastSaleId));
+            }
+
+            jdbcTemplate.update("DELETE FROM aggregated_sale");
+            jdbcTemplate.update("INSERT INTO aggregated_sale (product_id, sale_date, total_quantity_sold) " +
+                    "SELECT product_id, sale_date, total_quantity_sold FROM aggregated_sale_rebuild");
+            jdbcTemplate.update("DELETE FROM aggregated_sale_rebuild");
+
+            job.setStatus(AggregateRebuildJob.Status.COMPLETED);
+            job.setProcessedUpTo(Math.max(lastSaleId, job.getUpperSaleId()));
+            job.setFinishedAt(LocalDateTime.now());
+            jobRepository.save(job);
+            return job.getProcessedUpTo();
+        }));
+        logger.info("Aggregate rebuild {} swapped in", job.getId());
+    }
+
+    private Map<AggregatedSaleAccumulator.BucketKey, Long> aggregateRange(long fromId, long toId) {
+        Map<AggregatedSaleAccumulator.BucketKey, Long> totals = new TreeMap<>(KEY_ORDER);
+        jdbcTemplate.query(CHUNK_SQL, rs -> {
+            totals.merge(new AggregatedSaleAccumulator.BucketKey(rs.getLong("product_id"), rs.getDate("sale_day").toLocalDate()),
+                    rs.getLong("total"), Long::sum);
+        }, fromId, toId);
+        return totals;
+    }
+
+    private Map<AggregatedSaleAccumulator.BucketKey, Long> merge(Map<AggregatedSaleAccumulator.BucketKey, Long> left,
+                                                                Map<AggregatedSaleAccumulator.BucketKey, Long> right) {
+        Map<AggregatedSaleAccumulator.BucketKey, Long> merged = new TreeMap<>(KEY_ORDER);
+        merged.putAll(left);
+        right.forEach((key, quantity) -> merged.merge(key, quantity, Long::sum));
+        return merged;
+    }
+
+    private void upsertShadow(Map<AggregatedSaleAccumulator.BucketKey, Long> totals) {
+        if (totals.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(totals.size());
+        totals.forEach((key, quantity) -> rows.add(new Object[]{key.productId(), Date.valueOf(key.saleDate()), quantity}));
+        jdbcTemplate.batchUpdate(SHADOW_UPSERT_SQL, rows);
+    }
+
+    private AggregateRebuildStatusDTO toStatusDTO(AggregateRebuildJob job) {
+        long total = job.getUpperSaleId() - job.getFirstSaleId() + 1;
+        long done = job.getProcessedUpTo() - job.getFirstSaleId() + 1;
+        double progress = job.getStatus() == AggregateRebuildJob.Status.COMPLETED || total <= 0
+                ? 100.0
+                : Math.min(100.0, Math.max(0.0, done * 100.0 / total));
+
+        return new AggregateRebuildStatusDTO(job.getId(), job.getStatus().name(), job.getProcessedUpTo(), job.getUpperSaleId(),
+                progress, job.getStartedAt(), job.getFinishedAt(), job.getErrorMessage());
+    }
+}
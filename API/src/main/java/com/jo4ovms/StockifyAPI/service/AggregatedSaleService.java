@@ -1,49 +1,65 @@
 package com.jo4ovms.StockifyAPI.service;
 
-import com.jo4ovms.StockifyAPI.model.AggregatedSale;
+import com.jo4ovms.StockifyAPI.model.DTO.BestSellingItemDTO;
 import com.jo4ovms.StockifyAPI.model.DTO.SaleSummaryDTO;
+import com.jo4ovms.StockifyAPI.model.SalesPeriod;
 import com.jo4ovms.StockifyAPI.repository.AggregatedSaleRepository;
-import com.jo4ovms.StockifyAPI.repository.ProductRepository;
-import com.jo4ovms.StockifyAPI.repository.StockRepository;
-import jakarta.transaction.Transactional;
+import com.jo4ovms.StockifyAPI.util.SearchNormalizer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Service
 public class AggregatedSaleService {
     private final AggregatedSaleRepository aggregatedSaleRepository;
-    private final ProductRepository productRepository;
+    private final AggregatedSaleAccumulator aggregatedSaleAccumulator;
+    private final BestSellerTracker bestSellerTracker;
 
-    public AggregatedSaleService(AggregatedSaleRepository aggregatedSaleRepository, ProductRepository productRepository) {
+    public AggregatedSaleService(AggregatedSaleRepository aggregatedSaleRepository, AggregatedSaleAccumulator aggregatedSaleAccumulator,
+                                 BestSellerTracker bestSellerTracker) {
         this.aggregatedSaleRepository = aggregatedSaleRepository;
-        this.productRepository = productRepository;
+        this.aggregatedSaleAccumulator = aggregatedSaleAccumulator;
+        this.bestSellerTracker = bestSellerTracker;
     }
 
-    @Transactional
-    public void updateAggregatedSales(Long productId, Long quantitySold) {
-        AggregatedSale aggregatedSale = aggregatedSaleRepository.findByProductId(productId)
-                .orElse(new AggregatedSale());
+    public void updateAggregatedSales(Long productId, String productName, Long quantitySold, Long lastSaleId) {
+        Runnable update = () -> {
+            aggregatedSaleAccumulator.add(productId, LocalDate.now(), quantitySold, lastSaleId);
+            bestSellerTracker.record(productId, productName, quantitySold);
+        };
 
-        if (aggregatedSale.getId() == null) {
-            aggregatedSale.setProduct(productRepository.findById(productId).orElseThrow());
-            aggregatedSale.setTotalQuantitySold(0L);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
         }
-        aggregatedSale.setTotalQuantitySold(aggregatedSale.getTotalQuantitySold() + quantitySold);
-        aggregatedSale.setSaleDate(LocalDate.now());
+    }
 
-        aggregatedSaleRepository.save(aggregatedSale);
+    public List<BestSellingItemDTO> getBestSellingItems(SalesPeriod period, int limit) {
+        return bestSellerTracker.top(period, limit);
     }
 
     public Page<SaleSummaryDTO> getAllAggregatedSales(String searchTerm, Long supplierId, int page, int size, String sortDirection) {
-        Sort sort = Sort.by("totalQuantitySold");
-        sort = "asc".equalsIgnoreCase(sortDirection) ? sort.ascending() : sort.descending();
-        Pageable pageable = PageRequest.of(page, size, sort);
+        Pageable pageable = PageRequest.of(page, size, totalQuantitySoldSort(sortDirection));
+
+        return aggregatedSaleRepository.findSalesGroupedByProductAndSupplier(SearchNormalizer.normalize(searchTerm), supplierId, pageable);
+    }
 
-        return aggregatedSaleRepository.findSalesGroupedByProductAndSupplier(searchTerm, supplierId, pageable);
+    public Sort totalQuantitySoldSort(String sortDirection) {
+        Sort.Direction direction = "asc".equalsIgnoreCase(sortDirection) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return JpaSort.unsafe(direction, "SUM(a.totalQuantitySold)");
     }
 }
@@ -0,0 +1,92 @@
+package com.jo4ovms.StockifyAPI.service;
+
+import com.jo4ovms.StockifyAPI.event.CatalogChangedEvent;
+import com.jo4ovms.StockifyAPI.model.CatalogEntryType;
+import com.jo4ovms.StockifyAPI.model.DTO.AutocompleteSuggestionDTO;
+import com.jo4ovms.StockifyAPI.util.PrefixIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class AutocompleteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PrefixIndex<EntryKey, AutocompleteSuggestionDTO> index;
+    private final int maxLimit;
+    private final Set<EntryKey> removedWhileLoading = new HashSet<>();
+    private boolean loading = true;
+
+    public AutocompleteService(JdbcTemplate jdbcTemplate,
+                               @Value("${stockify.autocomplete.max-tokens-per-entry:8}") int maxTokensPerEntry,
+                               @Value("${stockify.autocomplete.max-candidates:2000}") int maxCandidates,
+                               @Value("${stockify.autocomplete.max-limit:50}") int maxLimit) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.index = new PrefixIndex<>(maxTokensPerEntry, maxCandidates);
+        this.maxLimit = maxLimit;
+    }
+
+    public List<AutocompleteSuggestionDTO> suggest(String query, CatalogEntryType type, int limit) {
+        if (limit <= 0 || limit > maxLimit) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxLimit + ".");
+        }
+        return index.search(query, limit, suggestion -> type == null || suggestion.getType() == type);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (this) {
+            loading = true;
+        }
+        jdbcTemplate.query("SELECT id, name FROM tb_supplier", rs -> {
+            long id = rs.getLong("id");
+            loadEntry(new EntryKey(CatalogEntryType.SUPPLIER, id), rs.getString("name"),
+                    new AutocompleteSuggestionDTO(CatalogEntryType.SUPPLIER, id, rs.getString("name"), id));
+        });
+        jdbcTemplate.query("SELECT id, name, supplier_id FROM tb_product", rs -> {
+            long id = rs.getLong("id");
+            loadEntry(new EntryKey(CatalogEntryType.PRODUCT, id), rs.getString("name"),
+                    new AutocompleteSuggestionDTO(CatalogEntryType.PRODUCT, id, rs.getString("name"), rs.getLong("supplier_id")));
+        });
+        synchronized (this) {
+            loading = false;
+            removedWhileLoading.clear();
+        }
+        logger.info("Autocomplete index loaded with {} entries", index.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        EntryKey key = new EntryKey(event.type(), event.id());
+        if (event.deleted()) {
+            synchronized (this) {
+                if (loading) {
+                    removedWhileLoading.add(key);
+                }
+                index.remove(key);
+            }
+        } else {
+            index.put(key, event.name(), new AutocompleteSuggestionDTO(event.type(), event.id(), event.name(), event.supplierId()));
+        }
+    }
+
+    private synchronized void loadEntry(EntryKey key, String name, AutocompleteSuggestionDTO suggestion) {
+        if (!removedWhileLoading.contains(key)) {
+            index.putIfAbsent(key, name, suggestion);
+        }
+    }
+
+    private record EntryKey(CatalogEntryType type, Long id) {
+    }
+}
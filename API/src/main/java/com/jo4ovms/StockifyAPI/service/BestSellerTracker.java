@@ -0,0 +1,113 @@
+package com.jo4ovms.StockifyAPI.service;
+
+import com.jo4ovms.StockifyAPI.model.DTO.BestSellingItemDTO;
+import com.jo4ovms.StockifyAPI.model.SalesPeriod;
+import com.jo4ovms.StockifyAPI.repository.AggregatedSaleRepository;
+import com.jo4ovms.StockifyAPI.util.SpaceSavingSketch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class BestSellerTracker {
+
+    private final AggregatedSaleRepository aggregatedSaleRepository;
+    private final AggregatedSaleAccumulator aggregatedSaleAccumulator;
+    private final int capacity;
+    private final Map<SalesPeriod, SpaceSavingSketch> sketches = new EnumMap<>(SalesPeriod.class);
+    private final Map<Long, String> productNames = new ConcurrentHashMap<>();
+    private List<long[]> heldDuringReconcile;
+    private volatile boolean reconciled;
+
+    public BestSellerTracker(AggregatedSaleRepository aggregatedSaleRepository, AggregatedSaleAccumulator aggregatedSaleAccumulator,
+                             @Value("${stockify.best-sellers.capacity:100}") int capacity) {
+        this.aggregatedSaleRepository = aggregatedSaleRepository;
+        this.aggregatedSaleAccumulator = aggregatedSaleAccumulator;
+        this.capacity = capacity;
+        for (SalesPeriod period : SalesPeriod.values()) {
+            sketches.put(period, new SpaceSavingSketch(capacity));
+        }
+    }
+
+    public void record(Long productId, String productName, long quantity) {
+        productNames.put(productId, productName);
+        synchronized (sketches) {
+            sketches.values().forEach(sketch -> sketch.offer(productId, quantity));
+            if (heldDuringReconcile != null) {
+                heldDuringReconcile.add(new long[]{productId, quantity});
+            }
+        }
+    }
+
+    public List<BestSellingItemDTO> top(SalesPeriod period, int limit) {
+        if (limit <= 0 || limit > capacity) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + capacity + ".");
+        }
+        if (!reconciled) {
+            reconcile();
+        }
+
+        SpaceSavingSketch sketch;
+        synchronized (sketches) {
+            sketch = sketches.get(period);
+        }
+        return sketch.top(limit).stream()
+                .map(counter -> new BestSellingItemDTO(counter.key(), productNames.get(counter.key()), counter.count()))
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${stockify.best-sellers.reconcile-interval-ms:60000}")
+    public synchronized void reconcile() {
+        Map<SalesPeriod, SpaceSavingSketch> seeded;
+        try {
+            seeded = aggregatedSaleAccumulator.flushThen(() -> {
+                synchronized (sketches) {
+                    heldDuringReconcile = new ArrayList<>();
+                }
+                return seed();
+            });
+        } catch (RuntimeException e) {
+            synchronized (sketches) {
+                heldDuringReconcile = null;
+            }
+            throw e;
+        }
+
+        synchronized (sketches) {
+            heldDuringReconcile.forEach(sale -> seeded.values().forEach(sketch -> sketch.offer(sale[0], sale[1])));
+            heldDuringReconcile = null;
+            sketches.putAll(seeded);
+        }
+        reconciled = true;
+    }
+
+    private Map<SalesPeriod, SpaceSavingSketch> seed() {
+        LocalDate today = LocalDate.now();
+        Pageable topCapacity = PageRequest.of(0, capacity);
+        Map<SalesPeriod, SpaceSavingSketch> seeded = new EnumMap<>(SalesPeriod.class);
+
+        for (SalesPeriod period : SalesPeriod.values()) {
+            LocalDate startDate = period.startDate(today);
+            List<BestSellingItemDTO> exact = startDate == null
+                    ? aggregatedSaleRepository.findBestSellingProducts(topCapacity)
+                    : aggregatedSaleRepository.findBestSellingProductsSince(startDate, topCapacity);
+
+            SpaceSavingSketch sketch = new SpaceSavingSketch(capacity);
+            for (BestSellingItemDTO item : exact) {
+                productNames.put(item.getProductId(), item.getProductName());
+                sketch.seed(item.getProductId(), item.getTotalQuantitySold());
+            }
+            seeded.put(period, sketch);
+        }
+        return seeded;
+    }
+}
@@ -0,0 +1,196 @@
+package com.jo4ovms.StockifyAPI.service;
+
+import com.jo4ovms.StockifyAPI.exception.TooManyConnectionsException;
+import com.jo4ovms.StockifyAPI.model.DTO.LogDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.StockAlertDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.StockSummaryDTO;
+import com.jo4ovms.StockifyAPI.service.stock.StockSummaryCounters;
+import com.jo4ovms.StockifyAPI.util.LogUtils;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Component
+public class DashboardEventPublisher {
+
+    public static final String SUMMARY_EVENT = "summary";
+    public static final String LOG_EVENT = "log";
+    public static final String RESYNC_EVENT = "resync";
+    public static final String ALERT_EVENT = "alert";
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardEventPublisher.class);
+
+    private final StockSummaryCounters stockSummaryCounters;
+    private final LogUtils logUtils;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final Deque<DashboardEvent> replayBuffer = new ArrayDeque<>();
+    private final int maxConnections;
+    private final int replayBufferSize;
+    private final long emitterTimeoutMs;
+    private long lastEventId;
+    private long[] lastSummary;
+
+    public DashboardEventPublisher(StockSummaryCounters stockSummaryCounters, LogUtils logUtils,
+                                   @Value("${stockify.sse.max-connections:200}") int maxConnections,
+                                   @Value("${stockify.sse.replay-buffer-size:256}") int replayBufferSize,
+                                   @Value("${stockify.sse.emitter-timeout-ms:1800000}") long emitterTimeoutMs) {
+        this.stockSummaryCounters = stockSummaryCounters;
+        this.logUtils = logUtils;
+        this.maxConnections = maxConnections;
+        this.replayBufferSize = replayBufferSize;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+    }
+
+    public SseEmitter subscribe(String lastEventIdHeader) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(error -> emitters.remove(emitter));
+
+        synchronized (this) {
+            if (emitters.size() >= maxConnections) {
+                throw new TooManyConnectionsException("Too many dashboard stream connections on this node, retry later.");
+            }
+            List<DashboardEvent> backlog = replay(lastEventIdHeader);
+            try {
+                if (backlog != null) {
+                    for (DashboardEvent event : backlog) {
+                        emitter.send(event.toSse());
+                    }
+                } else {
+                    DashboardEvent snapshot = new DashboardEvent(lastEventId, SUMMARY_EVENT, logUtils.serialize(stockSummaryCounters.snapshot()));
+                    if (lastEventIdHeader != null) {
+                        emitter.send(SseEmitter.event().id(snapshot.sseId()).name(RESYNC_EVENT).data("{}", MediaType.APPLICATION_JSON));
+                    }
+                    emitter.send(snapshot.toSse());
+                }
+                emitters.add(emitter);
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+        }
+        return emitter;
+    }
+
+    public void publishLog(LogDTO logDTO) {
+        publish(LOG_EVENT, logUtils.serialize(logDTO));
+    }
+
+    public void publishAlert(StockAlertDTO alert) {
+        publish(ALERT_EVENT, logUtils.serialize(alert));
+    }
+
+    @Scheduled(fixedDelayString = "${stockify.sse.summary-interval-ms:1000}")
+    public void publishSummaryIfChanged() {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        StockSummaryDTO summary = stockSummaryCounters.snapshot();
+        long[] current = {summary.getTotalProducts(), summary.getZeroQuantity(), summary.getAboveThreshold(), summary.getBetweenThreshold()};
+        synchronized (this) {
+            if (Arrays.equals(current, lastSummary)) {
+                return;
+            }
+            lastSummary = current;
+        }
+        publish(SUMMARY_EVENT, logUtils.serialize(summary));
+    }
+
+    @Scheduled(fixedDelayString = "${stockify.sse.heartbeat-interval-ms:15000}")
+    public void sendHeartbeat() {
+        for (SseEmitter emitter : emitters) {
+            send(emitter, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        emitters.forEach(SseEmitter::complete);
+        emitters.clear();
+    }
+
+    private synchronized void publish(String name, String json) {
+        DashboardEvent event = new DashboardEvent(++lastEventId, name, json);
+        replayBuffer.addLast(event);
+        if (replayBuffer.size() > replayBufferSize) {
+            replayBuffer.removeFirst();
+        }
+        for (SseEmitter emitter : emitters) {
+            send(emitter, event.toSse());
+        }
+    }
+
+    private List<DashboardEvent> replay(String lastEventIdHeader) {
+        if (lastEventIdHeader == null) {
+            return null;
+        }
+        int separator = lastEventIdHeader.lastIndexOf('-');
+        if (separator < 0 || !epoch.equals(lastEventIdHeader.substring(0, separator))) {
+            return null;
+        }
+        long after;
+        try {
+            after = Long.parseLong(lastEventIdHeader.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (after > lastEventId || (!replayBuffer.isEmpty() && replayBuffer.getFirst().id() > after + 1)) {
+            return null;
+        }
+
+        List<DashboardEvent> backlog = new ArrayList<>();
+        for (DashboardEvent event : replayBuffer) {
+            if (event.id() > after) {
+                backlog.add(event);
+            }
+        }
+        return backlog;
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            emitters.remove(emitter);
+            logger.debug("Dropping dashboard stream subscriber: {}", e.getMessage());
+        }
+    }
+
+    private class DashboardEvent {
+        private final long id;
+        private final String name;
+        private final String json;
+
+        DashboardEvent(long id, String name, String json) {
+            this.id = id;
+            this.name = name;
+            this.json = json;
+        }
+
+        long id() {
+            return id;
+        }
+
+        String sseId() {
+            return epoch + "-" + id;
+        }
+
+        SseEmitter.SseEventBuilder toSse() {
+            return SseEmitter.event().id(sseId()).name(name).data(json, MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.jo4ovms.StockifyAPI.service;
+
+import com.jo4ovms.StockifyAPI.event.SalesFlushedEvent;
+import com.jo4ovms.StockifyAPI.model.DTO.DemandPredictionDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class DemandForecastService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DemandForecastService.class);
+
+    private static final int MAX_HORIZON_DAYS = 365;
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final double MIN_DAY_FRACTION = 0.25;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int historyDays;
+    private final double alpha;
+    private final double beta;
+    private final Map<Long, ProductForecast> forecasts = new ConcurrentHashMap<>();
+    private final ExecutorService refitExecutor = Executors.newSingleThreadExecutor();
+    private final Set<Long> pendingRefits = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refitScheduled = new AtomicBoolean();
+    private final AtomicBoolean staleRefitScheduled = new AtomicBoolean();
+    private volatile LocalDate fittedThrough;
+
+    public DemandForecastService(NamedParameterJdbcTemplate jdbcTemplate,
+                                 @Value("${stockify.forecast.history-days:90}") int historyDays,
+                                 @Value("${stockify.forecast.alpha:0.3}") double alpha,
+                                 @Value("${stockify.forecast.beta:0.1}") double beta) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.historyDays = historyDays;
+        this.alpha = alpha;
+        this.beta = beta;
+    }
+
+    public Page<DemandPredictionDTO> getPredictions(Long supplierId, int horizonDays, int page, int size) {
+        if (horizonDays < 1 || horizonDays > MAX_HORIZON_DAYS) {
+            throw new IllegalArgumentException("Horizon must be between 1 and " + MAX_HORIZON_DAYS + " days.");
+        }
+        ensureFitted();
+
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        String period = firstDay + "/" + firstDay.plusDays(horizonDays - 1);
+
+        List<DemandPredictionDTO> predictions = forecasts.values().stream()
+                .filter(forecast -> supplierId == null || supplierId.equals(forecast.supplierId()))
+                .map(forecast -> new DemandPredictionDTO(forecast.productId(), forecast.productName(),
+                        forecast.demandOver(horizonDays), period))
+                .sorted(Comparator.comparingInt(DemandPredictionDTO::getPredictedDemand).reversed()
+                        .thenComparing(DemandPredictionDTO::getProductId))
+                .toList();
+
+        Pageable pageable = PageRequest.of(page, size);
+        int from = (int) Math.min(pageable.getOffset(), predictions.size());
+        int to = Math.min(from + size, predictions.size());
+        return new PageImpl<>(predictions.subList(from, to), pageable, predictions.size());
+    }
+
+    public ProductForecast getForecast(Long productId) {
+        ensureFitted();
+        return forecasts.get(productId);
+    }
+
+    private void ensureFitted() {
+        if (LocalDate.now().equals(fittedThrough)) {
+            return;
+        }
+        if (fittedThrough == null) {
+            refitIfStale();
+        } else if (staleRefitScheduled.compareAndSet(false, true)) {
+            refitExecutor.execute(() -> {
+                try {
+                    refitIfStale();
+                } finally {
+                    staleRefitScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    private synchronized void refitIfStale() {
+        if (!LocalDate.now().equals(fittedThrough)) {
+            refitAll();
+        }
+    }
+
+    @Scheduled(cron = "${stockify.forecast.refit-cron:0 5 0 * * *}")
+    public void scheduleRefitAll() {
+        refitExecutor.execute(this::refitAll);
+    }
+
+    public synchronized void refitAll() {
+        long started = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        Map<Long, ProductForecast> fitted = fit(null, today);
+
+        forecasts.keySet().retainAll(fitted.keySet());
+        forecasts.putAll(fitted);
+        fittedThrough = today;
+        logger.info("Fitted demand forecasts for {} products in {} ms", fitted.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @EventListener
+    public void onSalesFlushed(SalesFlushedEvent event) {
+        if (!LocalDate.now().equals(fittedThrough) || event.productIds().isEmpty()) {
+            return;
+        }
+        pendingRefits.addAll(event.productIds());
+        if (refitScheduled.compareAndSet(false, true)) {
+            refitExecutor.execute(this::refitPending);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refitExecutor.shutdownNow();
+    }
+
+    private void refitPending() {
+        refitScheduled.set(false);
+        Set<Long> productIds = new HashSet<>(pendingRefits);
+        pendingRefits.removeAll(productIds);
+        if (productIds.isEmpty()) {
+            return;
+        }
+        try {
+            synchronized (this) {
+                if (LocalDate.now().equals(fittedThrough)) {
+                    forecasts.putAll(fit(productIds, fittedThrough));
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not refit demand forecasts for {} products: {}", productIds.size(), e.getMessage());
+        }
+    }
+
+    private Map<Long, ProductForecast> fit(Collection<Long> productIds, LocalDate today) {
+        LocalDate firstDay = today.minusDays(historyDays - 1L);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("firstDay", Date.valueOf(firstDay))
+                .addValue("endDay", Date.valueOf(today.plusDays(1)));
+        String productFilter = "";
+        if (productIds != null) {
+            productFilter = " AND p.id IN (:productIds)";
+            params.addValue("productIds", productIds);
+        }
+
+        Map<Long, ProductForecast> catalog = new HashMap<>();
+        jdbcTemplate.query("SELECT p.id, p.name, p.supplier_id FROM tb_product p WHERE 1 = 1" + productFilter, params, rs -> {
+            catalog.put(rs.getLong("id"), new ProductForecast(rs.getLong("id"), rs.getString("name"),
+                    rs.getLong("supplier_id"), 0, 0));
+        });
+
+        Map<Long, double[]> series = new HashMap<>();
+        jdbcTemplate.query("SELECT a.product_id, a.sale_date, SUM(a.total_quantity_sold) AS total " +
+                "FROM aggregated_sale a JOIN tb_product p ON p.id = a.product_id " +
+                "WHERE a.sale_date >= :firstDay AND a.sale_date < :endDay" + productFilter +
+                " GROUP BY a.product_id, a.sale_date", params, rs -> {
+            int day = (int) ChronoUnit.DAYS.between(firstDay, rs.getDate("sale_date").toLocalDate());
+            series.computeIfAbsent(rs.getLong("product_id"), id -> new double[historyDays])[day] += rs.getLong("total");
+        });
+
+        double todayRunRate = 1 / Math.max(MIN_DAY_FRACTION, LocalTime.now().toSecondOfDay() / (double) SECONDS_PER_DAY);
+        series.values().forEach(observations -> observations[historyDays - 1] *= todayRunRate);
+
+        Map<Long, ProductForecast> fitted = new ConcurrentHashMap<>();
+        catalog.values().parallelStream().forEach(product -> {
+            double[] observations = series.get(product.productId());
+            fitted.put(product.productId(), observations == null ? product : holt(product, observations));
+        });
+        return fitted;
+    }
+
+    private ProductForecast holt(ProductForecast product, double[] observations) {
+        double level = observations[0];
+        double trend = observations.length > 1 ? observations[1] - observations[0] : 0;
+        for (int t = 1; t < observations.length; t++) {
+            double previousLevel = level;
+            level = alpha * observations[t] + (1 - alpha) * (level + trend);
+            trend = beta * (level - previousLevel) + (1 - beta) * trend;
+        }
+        return new ProductForecast(product.productId(), product.productName(), product.supplierId(), level, trend);
+    }
+
+    public record ProductForecast(Long productId, String productName, Long supplierId, double level, double trend) {
+
+        public int demandOver(int horizonDays) {
+            double demand = 0;
+            for (int k = 1; k <= horizonDays; k++) {
+                demand += Math.max(0, level + k * trend);
+            }
+            return (int) Math.round(demand);
+        }
+    }
+}
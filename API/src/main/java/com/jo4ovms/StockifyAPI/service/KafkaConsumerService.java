@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jo4ovms.StockifyAPI.model.DTO.LogDTO;
 import com.jo4ovms.StockifyAPI.model.Log;
 import com.jo4ovms.StockifyAPI.repository.LogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
@@ -12,12 +14,17 @@ import com.jo4ovms.StockifyAPI.model.Log.OperationType;
 @Service
 public class KafkaConsumerService {
 
+    private static final Logger logger = LoggerFactory.getLogger(KafkaConsumerService.class);
+
     @Autowired
     private LogRepository logRepository;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private DashboardEventPublisher dashboardEventPublisher;
+
     @KafkaListener(topics = "logs", groupId = "logging-group")
     public void consume(String message) {
         try {
@@ -32,11 +39,21 @@ public class KafkaConsumerService {
             log.setOldValue(logDTO.getOldValue());
             log.setNewValue(logDTO.getNewValue());
             log.setDetails(logDTO.getDetails());
-            logRepository.save(log);
+            Log savedLog = logRepository.save(log);
+
+            logger.debug("Log saved: {}", savedLog);
+        } catch (Exception e) {
+            logger.error("Could not persist log message from Kafka", e);
+        }
+    }
 
-            System.out.println("Log saved: " + log);
+    @KafkaListener(topics = "logs", groupId = "dashboard-#{T(java.util.UUID).randomUUID()}",
+            properties = {"auto.offset.reset=latest", "enable.auto.commit=false"})
+    public void forwardToDashboard(String message) {
+        try {
+            dashboardEventPublisher.publishLog(objectMapper.readValue(message, LogDTO.class));
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.warn("Could not forward log message to dashboard streams", e);
         }
     }
 }
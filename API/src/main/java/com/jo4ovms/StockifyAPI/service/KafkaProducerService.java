@@ -2,17 +2,25 @@ package com.jo4ovms.StockifyAPI.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class KafkaProducerService {
     private static final String TOPIC = "logs";
+    private static final String STOCK_ALERT_TOPIC = "stock-alerts";
 
     @Autowired
     private KafkaTemplate<String, String> kafkaTemplate;
 
-    public void sendMessage(String message) {
-        kafkaTemplate.send(TOPIC, message);
+    public CompletableFuture<SendResult<String, String>> sendMessage(String message) {
+        return kafkaTemplate.send(TOPIC, message);
+    }
+
+    public CompletableFuture<SendResult<String, String>> sendStockAlert(String key, String message) {
+        return kafkaTemplate.send(STOCK_ALERT_TOPIC, key, message);
     }
 
 }
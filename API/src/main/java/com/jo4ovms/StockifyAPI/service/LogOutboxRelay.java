@@ -0,0 +1,146 @@
+package com.jo4ovms.StockifyAPI.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jo4ovms.StockifyAPI.mapper.LogMapper;
+import com.jo4ovms.StockifyAPI.model.OutboxLog;
+import com.jo4ovms.StockifyAPI.repository.OutboxLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class LogOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogOutboxRelay.class);
+
+    private final OutboxLogRepository outboxLogRepository;
+    private final LogMapper logMapper;
+    private final KafkaProducerService kafkaProducerService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMs = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+
+    public LogOutboxRelay(OutboxLogRepository outboxLogRepository, LogMapper logMapper, KafkaProducerService kafkaProducerService,
+                          ObjectMapper objectMapper, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                          @Value("${stockify.outbox.batch-size:200}") int batchSize,
+                          @Value("${stockify.outbox.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.outboxLogRepository = outboxLogRepository;
+        this.logMapper = logMapper;
+        this.kafkaProducerService = kafkaProducerService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+
+        Gauge.builder("stockify.outbox.pending", pending, AtomicLong::get)
+                .description("Audit logs waiting in the outbox")
+                .register(meterRegistry);
+        Gauge.builder("stockify.outbox.lag", lagMs, value -> value.get() / 1000.0)
+                .description("Age in seconds of the oldest audit log waiting in the outbox")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("stockify.outbox.dead_lettered", deadLettered, AtomicLong::get)
+                .description("Audit logs parked in the outbox because they could not be serialized")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("stockify.outbox.published")
+                .description("Audit logs relayed to Kafka")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("stockify.outbox.failed")
+                .description("Relay batches that failed and will be retried")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("stockify.outbox.relay")
+                .description("Time taken to relay one outbox batch")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${stockify.outbox.relay-interval-ms:1000}")
+    public void relay() {
+        try {
+            Integer relayed;
+            do {
+                relayed = batchTimer.record(() -> transactionTemplate.execute(status -> relayBatch()));
+            } while (relayed != null && relayed == batchSize);
+        } catch (Exception e) {
+            failedCounter.increment();
+            logger.warn("Outbox relay failed, batch will be retried: {}", e.getMessage());
+        } finally {
+            refreshLag();
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxLog> batch = outboxLogRepository.findNextBatch(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<OutboxLog> relayed = new ArrayList<>(batch.size());
+        List<OutboxLog> poisoned = new ArrayList<>();
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (OutboxLog outboxLog : batch) {
+            String message;
+            try {
+                message = objectMapper.writeValueAsString(logMapper.toLogDTO(outboxLog));
+            } catch (Exception e) {
+                logger.error("Dead-lettering outbox log {}, it could not be serialized: {}", outboxLog.getId(), e.getMessage());
+                outboxLog.setDeadLettered(true);
+                poisoned.add(outboxLog);
+                continue;
+            }
+            sends.add(kafkaProducerService.sendMessage(message));
+            relayed.add(outboxLog);
+        }
+
+        try {
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("Kafka did not acknowledge the outbox batch", e);
+        }
+
+        if (!poisoned.isEmpty()) {
+            outboxLogRepository.saveAll(poisoned);
+        }
+        if (!relayed.isEmpty()) {
+            outboxLogRepository.deleteAllInBatch(relayed);
+        }
+        publishedCounter.increment(relayed.size());
+        return batch.size();
+    }
+
+    private void refreshLag() {
+        try {
+            pending.set(outboxLogRepository.countByDeadLetteredFalse());
+            deadLettered.set(outboxLogRepository.countByDeadLetteredTrue());
+            lagMs.set(outboxLogRepository.findFirstByDeadLetteredFalseOrderByIdAsc()
+                    .map(oldest -> Duration.between(oldest.getCreatedAt(), LocalDateTime.now()).toMillis())
+                    .orElse(0L));
+        } catch (Exception e) {
+            logger.warn("Could not refresh outbox lag: {}", e.getMessage());
+        }
+    }
+}
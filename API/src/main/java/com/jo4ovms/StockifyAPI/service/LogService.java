@@ -1,39 +1,37 @@
 package com.jo4ovms.StockifyAPI.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jo4ovms.StockifyAPI.mapper.LogMapper;
 import com.jo4ovms.StockifyAPI.model.DTO.LogDTO;
 import com.jo4ovms.StockifyAPI.model.Log;
+import com.jo4ovms.StockifyAPI.model.OutboxLog;
 import com.jo4ovms.StockifyAPI.repository.LogRepository;
+import com.jo4ovms.StockifyAPI.repository.OutboxLogRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
 @Service
 public class LogService {
 
     private final LogRepository logRepository;
     private final LogMapper logMapper;
-    private final KafkaProducerService kafkaProducerService;
-    private final ObjectMapper objectMapper;
+    private final OutboxLogRepository outboxLogRepository;
 
     @Autowired
-    public LogService(LogRepository logRepository, LogMapper logMapper, KafkaProducerService kafkaProducerService, ObjectMapper objectMapper) {
+    public LogService(LogRepository logRepository, LogMapper logMapper, OutboxLogRepository outboxLogRepository) {
         this.logRepository = logRepository;
         this.logMapper = logMapper;
-        this.kafkaProducerService = kafkaProducerService;
-        this.objectMapper = objectMapper;
+        this.outboxLogRepository = outboxLogRepository;
     }
 
     public void createLog(LogDTO logDTO) {
-        try {
-            String logMessage = objectMapper.writeValueAsString(logDTO);
-            kafkaProducerService.sendMessage(logMessage);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        OutboxLog outboxLog = logMapper.toOutboxLog(logDTO);
+        outboxLog.setCreatedAt(LocalDateTime.now());
+        outboxLogRepository.save(outboxLog);
     }
 
     public Page<LogDTO> getAllLogs(String entity, String operationType, int page, int size) {
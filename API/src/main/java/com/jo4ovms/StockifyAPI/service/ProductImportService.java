@@ -0,0 +1,387 @@
+package com.jo4ovms.StockifyAPI.service;
+
+import com.jo4ovms.StockifyAPI.event.CatalogChangedEvent;
+import com.jo4ovms.StockifyAPI.event.StockBulkChangedEvent;
+import com.jo4ovms.StockifyAPI.exception.ResourceNotFoundException;
+import com.jo4ovms.StockifyAPI.model.CatalogEntryType;
+import com.jo4ovms.StockifyAPI.model.DTO.ImportRowErrorDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.LogDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.ProductImportResultDTO;
+import com.jo4ovms.StockifyAPI.model.Log.OperationType;
+import com.jo4ovms.StockifyAPI.model.Product;
+import com.jo4ovms.StockifyAPI.model.StockMovementType;
+import com.jo4ovms.StockifyAPI.repository.SupplierRepository;
+import com.jo4ovms.StockifyAPI.service.stock.StockLedger;
+import com.jo4ovms.StockifyAPI.util.LogUtils;
+import com.jo4ovms.StockifyAPI.util.SearchNormalizer;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class ProductImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportService.class);
+
+    private static final String INSERT_PRODUCT_SQL = "INSERT INTO tb_product (name, search_name, product_value, quantity, supplier_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_PRODUCT_SQL = "UPDATE tb_product SET product_value = ?, quantity = COALESCE(?, quantity), updated_at = ? WHERE id = ?";
+    private static final String INSERT_STOCK_SQL = "INSERT INTO tb_stock (product_id, quantity, available, stock_value, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_STOCK_SQL = "UPDATE tb_stock SET quantity = ?, available = ?, stock_value = ?, updated_at = ? WHERE product_id = ?";
+
+    private final SupplierRepository supplierRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final LogService logService;
+    private final LogUtils logUtils;
+    private final StockLedger stockLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public ProductImportService(SupplierRepository supplierRepository, JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                                PlatformTransactionManager transactionManager,
+                                LogService logService, LogUtils logUtils, StockLedger stockLedger, ApplicationEventPublisher eventPublisher,
+                                @Value("${stockify.import.batch-size:1000}") int batchSize,
+                                @Value("${stockify.import.max-errors:1000}") int maxErrors) {
+        this.supplierRepository = supplierRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.logService = logService;
+        this.logUtils = logUtils;
+        this.stockLedger = stockLedger;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    public ProductImportResultDTO importCsv(Long supplierId, InputStream input) {
+        if (!supplierRepository.existsById(supplierId)) {
+            throw new ResourceNotFoundException("Supplier with id " + supplierId + " not found.");
+        }
+
+        ImportProgress progress = new ImportProgress();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                throw new IllegalArgumentException("The CSV file is empty.");
+            }
+            Columns columns = Columns.of(parseLine(stripBom(headerLine)));
+
+            Map<String, ImportRow> batch = new LinkedHashMap<>();
+            int batchNumber = 0;
+            long lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                progress.processedRows++;
+                try {
+                    ImportRow row = columns.toRow(lineNumber, parseLine(line));
+                    ImportRow previous = batch.put(row.name(), row);
+                    if (previous != null) {
+                        progress.fail(previous.line(), "Superseded by line " + lineNumber + " with the same product name.", maxErrors);
+                    }
+                } catch (IllegalArgumentException e) {
+                    progress.fail(lineNumber, e.getMessage(), maxErrors);
+                }
+                if (batch.size() >= batchSize) {
+                    writeBatch(supplierId, ++batchNumber, batch, progress);
+                    batch = new LinkedHashMap<>();
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(supplierId, ++batchNumber, batch, progress);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the uploaded CSV file.", e);
+        } finally {
+            if (progress.createdProducts + progress.updatedProducts > 0) {
+                eventPublisher.publishEvent(new StockBulkChangedEvent(supplierId));
+            }
+        }
+
+        logger.info("Imported {} rows for supplier {}: {} created, {} updated, {} failed", progress.processedRows, supplierId,
+                progress.createdProducts, progress.updatedProducts, progress.failedRows);
+        return new ProductImportResultDTO(progress.processedRows, progress.createdProducts, progress.updatedProducts,
+                progress.failedRows, progress.errors, progress.errorsTruncated);
+    }
+
+    private void writeBatch(Long supplierId, int batchNumber, Map<String, ImportRow> batch, ImportProgress progress) {
+        List<ImportRow> toInsert = new ArrayList<>();
+        List<ImportRow> toUpdate = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        try {
+            Map<String, Long> written = transactionTemplate.execute(status -> {
+                jdbcTemplate.queryForObject("SELECT id FROM tb_supplier WHERE id = ? FOR UPDATE", Long.class, supplierId);
+                Map<String, Long> existing = lockProducts(supplierId, batch.keySet());
+                batch.values().forEach(row -> (existing.containsKey(row.name()) ? toUpdate : toInsert).add(row));
+
+                Map<String, Long> result = new HashMap<>(existing);
+                List<Long> newIds = insertProducts(toInsert, supplierId, now);
+                for (int i = 0; i < toInsert.size(); i++) {
+                    result.put(toInsert.get(i).name(), newIds.get(i));
+                }
+                jdbcTemplate.batchUpdate(UPDATE_PRODUCT_SQL, toUpdate.stream()
+                        .map(row -> new Object[]{row.value(), row.quantity(), now, existing.get(row.name())})
+                        .toList());
+
+                Map<Long, Integer> currentStock = lockStockQuantities(batch.values().stream()
+                        .filter(row -> row.stockQuantity() != null)
+                        .map(row -> result.get(row.name()))
+                        .toList());
+                List<Object[]> stockInserts = new ArrayList<>();
+                List<Object[]> stockUpdates = new ArrayList<>();
+                for (ImportRow row : batch.values()) {
+                    if (row.stockQuantity() == null) {
+                        continue;
+                    }
+                    Long productId = result.get(row.name());
+                    Integer current = currentStock.get(productId);
+                    stockLedger.append(productId, StockMovementType.IMPORT, row.stockQuantity() - (current == null ? 0 : current));
+                    if (current != null) {
+                        stockUpdates.add(new Object[]{row.stockQuantity(), row.stockQuantity() > 0, row.stockValue(), now, productId});
+                    } else {
+                        stockInserts.add(new Object[]{productId, row.stockQuantity(), row.stockQuantity() > 0, row.stockValue(), now, now});
+                    }
+                }
+                jdbcTemplate.batchUpdate(INSERT_STOCK_SQL, stockInserts);
+                jdbcTemplate.batchUpdate(UPDATE_STOCK_SQL, stockUpdates);
+
+                writeBatchLog(supplierId, batchNumber, toInsert.size(), toUpdate.size(), stockInserts.size() + stockUpdates.size());
+                return result;
+            });
+
+            batch.values().forEach(row -> {
+                Long productId = written.get(row.name());
+                eventPublisher.publishEvent(CatalogChangedEvent.saved(CatalogEntryType.PRODUCT, productId, row.name(), supplierId));
+            });
+            toUpdate.forEach(row -> entityManagerFactory.getCache().evict(Product.class, written.get(row.name())));
+            progress.createdProducts += toInsert.size();
+            progress.updatedProducts += toUpdate.size();
+        } catch (RuntimeException e) {
+            logger.warn("Import batch {} for supplier {} failed: {}", batchNumber, supplierId, e.getMessage());
+            for (ImportRow row : batch.values()) {
+                progress.fail(row.line(), "Batch " + batchNumber + " failed: " + e.getMessage(), maxErrors);
+            }
+        }
+    }
+
+    private Map<String, Long> lockProducts(Long supplierId, Collection<String> names) {
+        Map<String, Long> products = new HashMap<>();
+        List<Object> args = new ArrayList<>(names.size() + 1);
+        args.add(supplierId);
+        args.addAll(names);
+        jdbcTemplate.query("SELECT id, name FROM tb_product WHERE supplier_id = ? AND name IN (" + placeholders(names.size()) + ") " +
+                        "ORDER BY id FOR UPDATE",
+                rs -> { products.put(rs.getString("name"), rs.getLong("id")); }, args.toArray());
+        return products;
+    }
+
+    private Map<Long, Integer> lockStockQuantities(List<Long> productIds) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return quantities;
+        }
+        jdbcTemplate.query("SELECT product_id, quantity FROM tb_stock WHERE product_id IN (" + placeholders(productIds.size()) + ") " +
+                        "ORDER BY product_id FOR UPDATE",
+                rs -> { quantities.put(rs.getLong("product_id"), rs.getInt("quantity")); }, productIds.toArray());
+        return quantities;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private List<Long> insertProducts(List<ImportRow> rows, Long supplierId, Timestamp now) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_PRODUCT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ImportRow row = rows.get(i);
+                        ps.setString(1, row.name());
+                        ps.setString(2, SearchNormalizer.normalize(row.name()));
+                        ps.setDouble(3, row.value());
+                        ps.setInt(4, row.quantity() == null ? 0 : row.quantity());
+                        ps.setLong(5, supplierId);
+                        ps.setTimestamp(6, now);
+                        ps.setTimestamp(7, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }, keyHolder);
+        return keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.values().iterator().next()).longValue())
+                .toList();
+    }
+
+    private void writeBatchLog(Long supplierId, int batchNumber, int created, int updated, int stocks) {
+        LogDTO logDTO = new LogDTO();
+        logDTO.setTimestamp(LocalDateTime.now());
+        logUtils.populateLog(logDTO, "ProductImport", supplierId, OperationType.CREATE.toString(),
+                Map.of("batch", batchNumber, "createdProducts", created, "updatedProducts", updated, "stocks", stocks), null,
+                "Imported batch " + batchNumber + " for supplier " + supplierId);
+        logService.createLog(logDTO);
+    }
+
+    private static String stripBom(String line) {
+        return line.startsWith("﻿") ? line.substring(1) : line;
+    }
+
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field.");
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    private record Columns(int name, int value, int quantity, int stockQuantity, int stockValue) {
+
+        static Columns of(List<String> header) {
+            Columns columns = new Columns(header.indexOf("name"), header.indexOf("value"), header.indexOf("quantity"),
+                    header.indexOf("stockQuantity"), header.indexOf("stockValue"));
+            if (columns.name() < 0 || columns.value() < 0) {
+                throw new IllegalArgumentException("The CSV header must contain at least the 'name' and 'value' columns.");
+            }
+            return columns;
+        }
+
+        ImportRow toRow(long line, List<String> fields) {
+            String productName = field(fields, name);
+            if (productName == null) {
+                throw new IllegalArgumentException("Product name cannot be blank.");
+            }
+            if (productName.length() > 100) {
+                throw new IllegalArgumentException("Product name cannot exceed 100 characters.");
+            }
+            double productValue = parseDouble(field(fields, value), "value");
+            if (productValue <= 0) {
+                throw new IllegalArgumentException("Product value must be greater than zero.");
+            }
+            String quantityField = field(fields, quantity);
+            Integer productQuantity = quantityField == null ? null : parseInt(quantityField, "quantity");
+            String stockQuantityField = field(fields, stockQuantity);
+            Integer stockQty = stockQuantityField == null ? null : parseInt(stockQuantityField, "stockQuantity");
+            String stockValueField = field(fields, stockValue);
+            double stockVal = stockValueField == null ? productValue : parseDouble(stockValueField, "stockValue");
+            if ((productQuantity != null && productQuantity < 0) || (stockQty != null && stockQty < 0) || stockVal < 0) {
+                throw new IllegalArgumentException("Quantities and values cannot be negative.");
+            }
+            return new ImportRow(line, productName, productValue, productQuantity, stockQty, stockVal);
+        }
+
+        private static String field(List<String> fields, int index) {
+            if (index < 0 || index >= fields.size() || fields.get(index).isEmpty()) {
+                return null;
+            }
+            return fields.get(index);
+        }
+
+        private static double parseDouble(String text, String column) {
+            double parsed;
+            try {
+                parsed = Double.parseDouble(text);
+            } catch (NullPointerException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + column + ": " + text);
+            }
+            if (!Double.isFinite(parsed)) {
+                throw new IllegalArgumentException("Invalid " + column + ": " + text);
+            }
+            return parsed;
+        }
+
+        private static int parseInt(String text, String column) {
+            try {
+                return Integer.parseInt(text);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + column + ": " + text);
+            }
+        }
+    }
+
+    private record ImportRow(long line, String name, double value, Integer quantity, Integer stockQuantity, double stockValue) {
+    }
+
+    private static class ImportProgress {
+        long processedRows;
+        long createdProducts;
+        long updatedProducts;
+        long failedRows;
+        boolean errorsTruncated;
+        final List<ImportRowErrorDTO> errors = new ArrayList<>();
+
+        void fail(long line, String message, int maxErrors) {
+            failedRows++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportRowErrorDTO(line, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+}
@@ -1,24 +1,38 @@
 package com.jo4ovms.StockifyAPI.service;
 
+import com.jo4ovms.StockifyAPI.event.CatalogChangedEvent;
+import com.jo4ovms.StockifyAPI.event.ReplenishmentInputsChangedEvent;
+import com.jo4ovms.StockifyAPI.event.StockBulkChangedEvent;
+import com.jo4ovms.StockifyAPI.event.StockChangedEvent;
+import com.jo4ovms.StockifyAPI.exception.DuplicateResourceException;
 import com.jo4ovms.StockifyAPI.exception.ResourceNotFoundException;
 import com.jo4ovms.StockifyAPI.exception.ValidationException;
 import com.jo4ovms.StockifyAPI.mapper.ProductMapper;
+import com.jo4ovms.StockifyAPI.model.CatalogEntryType;
+import com.jo4ovms.StockifyAPI.model.CursorSort;
 import com.jo4ovms.StockifyAPI.model.DTO.LogDTO;
 import com.jo4ovms.StockifyAPI.model.DTO.ProductDTO;
 import com.jo4ovms.StockifyAPI.model.Product;
+import com.jo4ovms.StockifyAPI.model.Stock;
 import com.jo4ovms.StockifyAPI.model.Supplier;
 import com.jo4ovms.StockifyAPI.repository.ProductRepository;
 import com.jo4ovms.StockifyAPI.repository.SupplierRepository;
+import com.jo4ovms.StockifyAPI.util.KeysetCursor;
+import com.jo4ovms.StockifyAPI.util.KeysetSlice;
 import com.jo4ovms.StockifyAPI.util.LogUtils;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import com.jo4ovms.StockifyAPI.model.Log.OperationType;
+import com.jo4ovms.StockifyAPI.util.SearchNormalizer;
 
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Consumer;
 
 
@@ -30,14 +44,17 @@ public class ProductService {
     private final ProductMapper productMapper;
     private final LogService logService;
     private final LogUtils logUtils;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ProductService(ProductRepository productRepository, SupplierRepository supplierRepository, ProductMapper productMapper, LogService logService, LogUtils logUtils) {
+    public ProductService(ProductRepository productRepository, SupplierRepository supplierRepository, ProductMapper productMapper, LogService logService, LogUtils logUtils,
+                          ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
         this.supplierRepository = supplierRepository;
         this.productMapper = productMapper;
         this.logService = logService;
         this.logUtils = logUtils;
+        this.eventPublisher = eventPublisher;
     }
 
     private <T> boolean updateField(Product product, T newValue, T currentValue, Consumer<T> setter) {
@@ -55,10 +72,15 @@ public class ProductService {
         if (productDTO.getValue() <= 0) {
             throw new ValidationException("Product value must be greater than zero.");
         }
+        if (productRepository.existsBySupplierIdAndName(supplier.getId(), productDTO.getName())) {
+            throw new DuplicateResourceException("Product " + productDTO.getName() + " already exists for supplier " + supplier.getId() + ".");
+        }
 
         Product product = productMapper.toProduct(productDTO);
         product.setSupplier(supplier);
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(CatalogChangedEvent.saved(CatalogEntryType.PRODUCT, savedProduct.getId(),
+                savedProduct.getName(), supplier.getId()));
 
         LogDTO logDTO = new LogDTO();
         logDTO.setTimestamp(savedProduct.getCreatedAt());
@@ -78,6 +100,7 @@ public class ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier with id " + productDTO.getSupplierId() + " not found"));
 
         ProductDTO oldProductDTO = productMapper.toProductDTO(product);
+        Long oldSupplierId = product.getSupplier().getId();
 
         boolean hasChanges = false;
         hasChanges |= updateField(product, productDTO.getName(), product.getName(), product::setName);
@@ -88,7 +111,16 @@ public class ProductService {
         if (!hasChanges) {
             return oldProductDTO;
         }
+        if (productRepository.existsBySupplierIdAndNameAndIdNot(supplier.getId(), product.getName(), id)) {
+            throw new DuplicateResourceException("Product " + product.getName() + " already exists for supplier " + supplier.getId() + ".");
+        }
         Product updatedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(CatalogChangedEvent.saved(CatalogEntryType.PRODUCT, updatedProduct.getId(),
+                updatedProduct.getName(), supplier.getId()));
+        if (!oldSupplierId.equals(supplier.getId())) {
+            eventPublisher.publishEvent(new StockBulkChangedEvent(supplier.getId()));
+            eventPublisher.publishEvent(new ReplenishmentInputsChangedEvent(Set.of(oldSupplierId, supplier.getId())));
+        }
 
         LogDTO logDTO = new LogDTO();
         logDTO.setTimestamp(updatedProduct.getUpdatedAt());
@@ -106,11 +138,29 @@ public class ProductService {
             throw new IllegalArgumentException("Page number or size must not be less than zero.");
         }
         Pageable pageable = PageRequest.of(page, size);
-        Page<Product> products = productRepository.findByNameContainingIgnoreCase(searchTerm, pageable);
+        String normalizedTerm = SearchNormalizer.normalize(searchTerm);
+        Page<Product> products = normalizedTerm == null
+                ? productRepository.findAll(pageable)
+                : productRepository.searchByName(normalizedTerm, pageable);
 
         return products.map(productMapper::toProductDTO);
     }
 
+    public KeysetSlice<ProductDTO> findProductsAfter(CursorSort sort, String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(after, sort);
+        Pageable limit = KeysetCursor.limit(size);
+        Slice<ProductDTO> slice = switch (sort) {
+            case ID -> productRepository.findProductDTOsAfterId(cursor.id(), limit);
+            case QUANTITY -> productRepository.findProductDTOsAfterQuantity(cursor.quantityKey(), cursor.id(), limit);
+            case SUPPLIER_NAME -> productRepository.findProductDTOsAfterSupplierName(cursor.supplierNameKey(), cursor.supplierIdKey(), cursor.id(), limit);
+        };
+        return KeysetSlice.of(slice, product -> new KeysetCursor(sort, switch (sort) {
+            case ID -> null;
+            case QUANTITY -> String.valueOf(product.getQuantity());
+            case SUPPLIER_NAME -> KeysetCursor.supplierKey(product.getSupplierName(), product.getSupplierId());
+        }, product.getId()));
+    }
+
     public Page<ProductDTO> findAllProducts(int page, int size) {
         if (page < 0 || size <= 0) {
             throw new IllegalArgumentException("Page number or size must not be less than zero.");
@@ -133,7 +183,13 @@ public class ProductService {
                .orElseThrow(() -> new ResourceNotFoundException("Product with id " + id + " not found"));
 
        ProductDTO oldProductDTO = productMapper.toProductDTO(product);
+       Stock stock = product.getStock();
        productRepository.delete(product);
+       eventPublisher.publishEvent(CatalogChangedEvent.deleted(CatalogEntryType.PRODUCT, product.getId()));
+       if (stock != null) {
+           eventPublisher.publishEvent(StockChangedEvent.deleted(product.getId(), product.getSupplier().getId(),
+                   stock.getQuantity(), stock.getValue()));
+       }
 
        LogDTO logDTO = new LogDTO();
        logDTO.setTimestamp(product.getUpdatedAt());
@@ -156,7 +212,10 @@ public class ProductService {
         Pageable pageable = PageRequest.of(page, size);
         Supplier supplier = supplierRepository.findById(supplierId)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier with id " + supplierId + " not found"));
-        Page<Product> products = productRepository.findBySupplierAndNameContainingIgnoreCase(supplier, searchTerm, pageable);
+        String normalizedTerm = SearchNormalizer.normalize(searchTerm);
+        Page<Product> products = normalizedTerm == null
+                ? productRepository.findBySupplier(supplier, pageable)
+                : productRepository.searchBySupplierAndName(supplier, normalizedTerm, pageable);
 
         return products.map(productMapper::toProductDTO);
     }
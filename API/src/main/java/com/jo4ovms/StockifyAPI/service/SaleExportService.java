@@ -0,0 +1,158 @@
+package com.jo4ovms.StockifyAPI.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jo4ovms.StockifyAPI.model.ExportFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class SaleExportService {
+
+    private static final String[] COLUMNS = {"saleId", "saleDate", "productId", "productName", "supplierId", "supplierName",
+            "quantity", "stockValueAtSale"};
+
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public SaleExportService(DataSource dataSource, PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                             @Value("${stockify.export.fetch-size:1000}") int fetchSize) {
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    public StreamingResponseBody exportSales(ExportFormat format, boolean gzip, LocalDate from, LocalDate to, Long supplierId) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("The to date must not be before the from date.");
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT s.id, s.sale_date, s.product_id, p.name AS product_name, " +
+                "sup.id AS supplier_id, sup.name AS supplier_name, s.quantity, s.stock_value_at_sale " +
+                "FROM tb_sale s JOIN tb_product p ON p.id = s.product_id JOIN tb_supplier sup ON sup.id = p.supplier_id WHERE 1 = 1 ");
+        List<Object> args = new ArrayList<>();
+        if (from != null) {
+            sql.append("AND s.sale_date >= ? ");
+            args.add(Timestamp.valueOf(from.atStartOfDay()));
+        }
+        if (to != null) {
+            sql.append("AND s.sale_date < ? ");
+            args.add(Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+        }
+        if (supplierId != null) {
+            sql.append("AND p.supplier_id = ? ");
+            args.add(supplierId);
+        }
+        sql.append("ORDER BY s.id");
+
+        return outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, 64 * 1024) : outputStream;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+            RowWriter rowWriter = format == ExportFormat.CSV ? csvWriter(writer) : ndjsonWriter(writer);
+
+            try {
+                readOnlyTransaction.executeWithoutResult(status ->
+                        cursorJdbcTemplate.query(sql.toString(), rs -> {
+                            try {
+                                rowWriter.write(rs);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }, args.toArray()));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            writer.flush();
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+        };
+    }
+
+    private RowWriter csvWriter(Writer writer) throws IOException {
+        writer.write(String.join(",", COLUMNS));
+        writer.write('\n');
+        return rs -> {
+            writer.write(Long.toString(rs.getLong("id")));
+            writer.write(',');
+            writer.write(rs.getTimestamp("sale_date").toLocalDateTime().toString());
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong("product_id")));
+            writer.write(',');
+            writer.write(csvField(rs.getString("product_name")));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong("supplier_id")));
+            writer.write(',');
+            writer.write(csvField(rs.getString("supplier_name")));
+            writer.write(',');
+            writer.write(Integer.toString(rs.getInt("quantity")));
+            writer.write(',');
+            double value = rs.getDouble("stock_value_at_sale");
+            writer.write(rs.wasNull() ? "" : Double.toString(value));
+            writer.write('\n');
+        };
+    }
+
+    private RowWriter ndjsonWriter(Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return rs -> {
+            generator.writeStartObject();
+            generator.writeNumberField(COLUMNS[0], rs.getLong("id"));
+            generator.writeStringField(COLUMNS[1], rs.getTimestamp("sale_date").toLocalDateTime().toString());
+            generator.writeNumberField(COLUMNS[2], rs.getLong("product_id"));
+            generator.writeStringField(COLUMNS[3], rs.getString("product_name"));
+            generator.writeNumberField(COLUMNS[4], rs.getLong("supplier_id"));
+            generator.writeStringField(COLUMNS[5], rs.getString("supplier_name"));
+            generator.writeNumberField(COLUMNS[6], rs.getInt("quantity"));
+            double value = rs.getDouble("stock_value_at_sale");
+            if (rs.wasNull()) {
+                generator.writeNullField(COLUMNS[7]);
+            } else {
+                generator.writeNumberField(COLUMNS[7], value);
+            }
+            generator.writeEndObject();
+            generator.flush();
+            writer.write('\n');
+        };
+    }
+
+    private String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+}
@@ -1,26 +1,51 @@
 package com.jo4ovms.StockifyAPI.service;
 
+import com.jo4ovms.StockifyAPI.event.StockChangedEvent;
+import com.jo4ovms.StockifyAPI.exception.InsufficientStockException;
 import com.jo4ovms.StockifyAPI.exception.ResourceNotFoundException;
 import com.jo4ovms.StockifyAPI.mapper.SaleMapper;
 import com.jo4ovms.StockifyAPI.model.DTO.*;
 import com.jo4ovms.StockifyAPI.model.Log;
 import com.jo4ovms.StockifyAPI.model.Sale;
+import com.jo4ovms.StockifyAPI.model.SalesPeriod;
 import com.jo4ovms.StockifyAPI.model.Stock;
+import com.jo4ovms.StockifyAPI.model.StockMovementType;
 import com.jo4ovms.StockifyAPI.repository.AggregatedSaleRepository;
 import com.jo4ovms.StockifyAPI.repository.SaleRepository;
 import com.jo4ovms.StockifyAPI.repository.StockRepository;
 import com.jo4ovms.StockifyAPI.util.LogUtils;
+import com.jo4ovms.StockifyAPI.util.SearchNormalizer;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDate;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class SaleService {
 
+    private static final String DECREMENT_SQL = "UPDATE tb_stock s SET quantity = s.quantity - v.quantity, " +
+            "available = s.quantity - v.quantity > 0, updated_at = CURRENT_TIMESTAMP " +
+            "FROM (VALUES %s) AS v(product_id, quantity) " +
+            "WHERE s.product_id = v.product_id AND s.quantity >= v.quantity RETURNING s.product_id, s.quantity";
+    private static final String LOCK_STOCK_SQL = "SELECT product_id, quantity FROM tb_stock WHERE product_id IN (%s) ORDER BY product_id FOR UPDATE";
+    private static final int CHUNK_SIZE = 1000;
+    private static final String INSERT_SALE_SQL = "INSERT INTO tb_sale (product_id, quantity, stock_value_at_sale, sale_date) VALUES (?, ?, ?, ?)";
+
     private final StockRepository stockRepository;
     private final SaleMapper saleMapper;
     private final SaleRepository saleRepository;
@@ -28,10 +53,12 @@ public class SaleService {
     private final AggregatedSaleService aggregatedSaleService;
     private final AggregatedSaleRepository aggregatedSaleRepository;
     private final LogUtils logUtils;
-
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public SaleService(StockRepository stockRepository, SaleMapper saleMapper, SaleRepository saleRepository, LogService logService, AggregatedSaleService aggregatedSaleService, AggregatedSaleRepository aggregatedSaleRepository, LogUtils logUtils) {
+    public SaleService(StockRepository stockRepository, SaleMapper saleMapper, SaleRepository saleRepository, LogService logService, AggregatedSaleService aggregatedSaleService, AggregatedSaleRepository aggregatedSaleRepository, LogUtils logUtils, JdbcTemplate jdbcTemplate,
+                       ApplicationEventPublisher eventPublisher) {
         this.stockRepository = stockRepository;
         this.saleMapper = saleMapper;
         this.saleRepository = saleRepository;
@@ -39,22 +66,26 @@ public class SaleService {
         this.aggregatedSaleService = aggregatedSaleService;
         this.aggregatedSaleRepository = aggregatedSaleRepository;
         this.logUtils = logUtils;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public SaleDTO registerSale(SaleDTO saleDTO) {
+        if (saleDTO.getProductId() == null) {
+            throw new IllegalArgumentException("Product ID is required.");
+        }
+        if (saleDTO.getQuantity() == null || saleDTO.getQuantity() <= 0) {
+            throw new IllegalArgumentException("Sale Quantity must be greater than zero.");
+        }
 
+        int updatedRows = stockRepository.decrementQuantity(saleDTO.getProductId(), saleDTO.getQuantity());
         Stock stock = stockRepository.findByProductId(saleDTO.getProductId())
                 .orElseThrow(() -> new ResourceNotFoundException("Stock for product ID " + saleDTO.getProductId() + " not found"));
-
-        if (stock.getQuantity() < saleDTO.getQuantity()) {
-            throw new IllegalArgumentException("Insufficient stock. Requested quantity exceeds available stock.");
+        if (updatedRows == 0) {
+            throw new InsufficientStockException("Insufficient stock. Requested quantity exceeds available stock.");
         }
 
-        stock.setQuantity(stock.getQuantity() - saleDTO.getQuantity());
-        stock.setAvailable(stock.getQuantity() > 0);
-        stockRepository.save(stock);
-
         Sale sale = new Sale();
         sale.setProduct(stock.getProduct());
         sale.setQuantity(saleDTO.getQuantity());
@@ -73,29 +104,211 @@ public class SaleService {
                         ", Quantity: " + saleDTO.getQuantity());
 
         logService.createLog(logDTO);
-        aggregatedSaleService.updateAggregatedSales(stock.getProduct().getId(), saleDTO.getQuantity().longValue());
+        aggregatedSaleService.updateAggregatedSales(stock.getProduct().getId(), stock.getProduct().getName(), saleDTO.getQuantity().longValue(),
+                savedSale.getId());
+        publishSaleStockChange(stock, stock.getQuantity() + saleDTO.getQuantity());
 
         return saleLogDTO;
     }
 
-    public List<BestSellingItemDTO> getBestSellingItems() {
-        return saleRepository.findBestSellingItems();
+    @Transactional
+    public List<SaleLineResultDTO> registerSales(List<SaleDTO> saleDTOs) {
+        if (saleDTOs == null || saleDTOs.isEmpty()) {
+            throw new IllegalArgumentException("Sale list must not be empty.");
+        }
+
+        SaleLineResultDTO[] results = new SaleLineResultDTO[saleDTOs.size()];
+        Map<Long, List<Integer>> linesByProduct = new LinkedHashMap<>();
+
+        for (int i = 0; i < saleDTOs.size(); i++) {
+            SaleDTO saleDTO = saleDTOs.get(i);
+            if (saleDTO == null || saleDTO.getProductId() == null) {
+                results[i] = failedLine(i, saleDTO, "Product ID is required.");
+            } else if (saleDTO.getQuantity() == null || saleDTO.getQuantity() <= 0) {
+                results[i] = failedLine(i, saleDTO, "Sale Quantity must be greater than zero.");
+            } else {
+                linesByProduct.computeIfAbsent(saleDTO.getProductId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        Map<Long, Integer> lockedQuantities = lockStockQuantities(linesByProduct.keySet());
+        Map<Long, Stock> stocksByProduct = lockedQuantities.isEmpty() ? Map.of()
+                : stockRepository.findAllByProductIdIn(lockedQuantities.keySet()).stream()
+                .collect(Collectors.toMap(stock -> stock.getProduct().getId(), Function.identity()));
+
+        Map<Long, List<Integer>> acceptedLinesByProduct = new LinkedHashMap<>();
+        Map<Long, Integer> acceptedQuantities = new LinkedHashMap<>();
+
+        for (Map.Entry<Long, List<Integer>> entry : linesByProduct.entrySet()) {
+            Long productId = entry.getKey();
+            Integer lockedQuantity = lockedQuantities.get(productId);
+
+            if (lockedQuantity == null) {
+                entry.getValue().forEach(i -> results[i] = failedLine(i, saleDTOs.get(i), "Stock for product ID " + productId + " not found"));
+                continue;
+            }
+
+            List<Integer> acceptedLines = new ArrayList<>();
+            int acceptedQuantity = 0;
+            for (Integer i : entry.getValue()) {
+                int quantity = saleDTOs.get(i).getQuantity();
+                if (acceptedQuantity + quantity <= lockedQuantity) {
+                    acceptedQuantity += quantity;
+                    acceptedLines.add(i);
+                } else {
+                    results[i] = failedLine(i, saleDTOs.get(i), "Insufficient stock. Requested quantity exceeds available stock.");
+                }
+            }
+
+            if (!acceptedLines.isEmpty()) {
+                acceptedLinesByProduct.put(productId, acceptedLines);
+                acceptedQuantities.put(productId, acceptedQuantity);
+            }
+        }
+
+        Map<Long, Integer> remainingQuantities = decrementQuantities(acceptedQuantities);
+
+        LocalDateTime saleDate = LocalDateTime.now();
+        List<Object[]> saleRows = new ArrayList<>();
+
+        for (Map.Entry<Long, List<Integer>> entry : acceptedLinesByProduct.entrySet()) {
+            Long productId = entry.getKey();
+            List<Integer> acceptedLines = entry.getValue();
+            Stock stock = stocksByProduct.get(productId);
+            Integer remainingQuantity = remainingQuantities.get(productId);
+
+            if (remainingQuantity == null) {
+                acceptedLines.forEach(i -> results[i] = failedLine(i, saleDTOs.get(i), "Insufficient stock. Requested quantity exceeds available stock."));
+                continue;
+            }
+
+            int acceptedQuantity = acceptedQuantities.get(productId);
+            List<SaleDTO> productSales = new ArrayList<>();
+            for (Integer i : acceptedLines) {
+                SaleDTO saleDTO = saleDTOs.get(i);
+                saleRows.add(new Object[]{productId, saleDTO.getQuantity(), stock.getValue(), Timestamp.valueOf(saleDate)});
+
+                SaleDTO saleLogDTO = new SaleDTO();
+                saleLogDTO.setProductId(productId);
+                saleLogDTO.setProductName(stock.getProduct().getName());
+                saleLogDTO.setQuantity(saleDTO.getQuantity());
+                saleLogDTO.setStockValueAtSale(stock.getValue());
+                productSales.add(saleLogDTO);
+
+                results[i] = new SaleLineResultDTO(i, productId, saleDTO.getQuantity(), true, "Sale registered");
+            }
+
+            LogDTO logDTO = new LogDTO();
+            logDTO.setTimestamp(saleDate);
+            logUtils.populateLog(logDTO, "Sale", productId, Log.OperationType.CREATE.toString(),
+                    productSales, null, "Batch sale registered: Product ID " + productId +
+                            ", Lines: " + acceptedLines.size() + ", Quantity: " + acceptedQuantity);
+
+            logService.createLog(logDTO);
+            eventPublisher.publishEvent(new StockChangedEvent(productId, stock.getProduct().getSupplier().getId(),
+                    remainingQuantity + acceptedQuantity, remainingQuantity, stock.getValue(), stock.getValue(), StockMovementType.SALE));
+        }
+
+        if (!saleRows.isEmpty()) {
+            Map<Long, Long> lastSaleIds = insertSales(saleRows);
+            lastSaleIds.forEach((productId, lastSaleId) -> aggregatedSaleService.updateAggregatedSales(productId,
+                    stocksByProduct.get(productId).getProduct().getName(), acceptedQuantities.get(productId).longValue(), lastSaleId));
+        }
+
+        return Arrays.asList(results);
     }
 
-    public Page<SaleSummaryDTO> getAllSalesGroupedByProduct(String searchTerm, Long supplierId, int page, int size, String sortDirection, LocalDate startDate, LocalDate endDate) {
-        Sort sort = Sort.by("totalQuantitySold");
-        sort = "asc".equalsIgnoreCase(sortDirection) ? sort.ascending() : sort.descending();
+    private Map<Long, Long> insertSales(List<Object[]> saleRows) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SALE_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Object[] row = saleRows.get(i);
+                        for (int column = 0; column < row.length; column++) {
+                            ps.setObject(column + 1, row[column]);
+                        }
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return saleRows.size();
+                    }
+                }, keyHolder);
+
+        Map<Long, Long> lastSaleIds = new LinkedHashMap<>();
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < keys.size(); i++) {
+            long saleId = ((Number) keys.get(i).get("id")).longValue();
+            lastSaleIds.merge((Long) saleRows.get(i)[0], saleId, Math::max);
+        }
+        return lastSaleIds;
+    }
+
+    private Map<Long, Integer> lockStockQuantities(Collection<Long> productIds) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        List<Long> sortedIds = productIds.stream().sorted().toList();
+
+        for (int from = 0; from < sortedIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = sortedIds.subList(from, Math.min(from + CHUNK_SIZE, sortedIds.size()));
+            jdbcTemplate.query(String.format(LOCK_STOCK_SQL, String.join(", ", Collections.nCopies(chunk.size(), "?"))), rs -> {
+                quantities.put(rs.getLong("product_id"), rs.getInt("quantity"));
+            }, chunk.toArray());
+        }
+        return quantities;
+    }
 
-        Pageable pageable = PageRequest.of(page, size, sort);
+    private Map<Long, Integer> decrementQuantities(Map<Long, Integer> quantities) {
+        Map<Long, Integer> remainingQuantities = new HashMap<>();
+        List<Long> productIds = quantities.keySet().stream().sorted().toList();
+
+        for (int from = 0; from < productIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = productIds.subList(from, Math.min(from + CHUNK_SIZE, productIds.size()));
+            String values = String.join(", ", Collections.nCopies(chunk.size(), "(CAST(? AS BIGINT), CAST(? AS INTEGER))"));
+            Object[] args = new Object[chunk.size() * 2];
+            for (int i = 0; i < chunk.size(); i++) {
+                args[2 * i] = chunk.get(i);
+                args[2 * i + 1] = quantities.get(chunk.get(i));
+            }
+
+            jdbcTemplate.query(String.format(DECREMENT_SQL, values), rs -> {
+                remainingQuantities.put(rs.getLong("product_id"), rs.getInt("quantity"));
+            }, args);
+        }
+        return remainingQuantities;
+    }
+
+    private void publishSaleStockChange(Stock stock, int quantityBeforeSale) {
+        eventPublisher.publishEvent(new StockChangedEvent(stock.getProduct().getId(), stock.getProduct().getSupplier().getId(),
+                quantityBeforeSale, stock.getQuantity(), stock.getValue(), stock.getValue(), StockMovementType.SALE));
+    }
+
+    private SaleLineResultDTO failedLine(int line, SaleDTO saleDTO, String message) {
+        Long productId = saleDTO != null ? saleDTO.getProductId() : null;
+        Integer quantity = saleDTO != null ? saleDTO.getQuantity() : null;
+        return new SaleLineResultDTO(line, productId, quantity, false, message);
+    }
+
+    public List<BestSellingItemDTO> getBestSellingItems(SalesPeriod period, int limit) {
+        return aggregatedSaleService.getBestSellingItems(period, limit);
+    }
+
+    public Page<SaleSummaryDTO> getAllSalesGroupedByProduct(String searchTerm, Long supplierId, int page, int size, String sortDirection, LocalDate startDate, LocalDate endDate) {
+        Pageable pageable = PageRequest.of(page, size, aggregatedSaleService.totalQuantitySoldSort(sortDirection));
+        String normalizedTerm = SearchNormalizer.normalize(searchTerm);
 
         if (startDate != null && endDate != null) {
-            return aggregatedSaleRepository.findSalesGroupedByProductAndSupplierAndDate(searchTerm, supplierId, startDate, endDate, pageable);
+            return aggregatedSaleRepository.findSalesGroupedByProductAndSupplierAndDate(normalizedTerm, supplierId, startDate, endDate, pageable);
         } else {
-            return aggregatedSaleRepository.findSalesGroupedByProductAndSupplier(searchTerm, supplierId, pageable);
+            return aggregatedSaleRepository.findSalesGroupedByProductAndSupplier(normalizedTerm, supplierId, pageable);
         }
     }
 
-    public List<DailySalesDTO> getSalesGroupedByDay(int month) {
-        return saleRepository.findSalesGroupedByDay(month);
+    public List<DailySalesDTO> getSalesGroupedByDay(Integer year, int month) {
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("Month must be between 1 and 12.");
+        }
+        YearMonth yearMonth = YearMonth.of(year != null ? year : LocalDate.now().getYear(), month);
+        return saleRepository.findSalesGroupedByDay(yearMonth.atDay(1).atStartOfDay(), yearMonth.plusMonths(1).atDay(1).atStartOfDay());
     }
 }
@@ -0,0 +1,105 @@
+package com.jo4ovms.StockifyAPI.service;
+
+import com.jo4ovms.StockifyAPI.model.DTO.SalesTimeSeriesPointDTO;
+import com.jo4ovms.StockifyAPI.model.TimeGranularity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class SalesTimeSeriesService {
+
+    private static final int MAX_POINTS = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SalesTimeSeriesService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<SalesTimeSeriesPointDTO> getTimeSeries(LocalDate from, LocalDate to, TimeGranularity granularity, Long productId, Long supplierId) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both from and to dates are required.");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The to date must not be before the from date.");
+        }
+
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        List<LocalDateTime> buckets = new ArrayList<>();
+        for (LocalDateTime bucket = granularity.truncate(from.atStartOfDay()); bucket.isBefore(end); bucket = granularity.next(bucket)) {
+            if (buckets.size() == MAX_POINTS) {
+                throw new IllegalArgumentException("Requested range exceeds " + MAX_POINTS + " points; use a coarser granularity.");
+            }
+            buckets.add(bucket);
+        }
+
+        Map<LocalDateTime, Long> totals = granularity == TimeGranularity.HOUR
+                ? hourlyTotals(from.atStartOfDay(), end, productId, supplierId)
+                : dailyTotals(from, to.plusDays(1), granularity, productId, supplierId);
+
+        return buckets.stream()
+                .map(bucket -> new SalesTimeSeriesPointDTO(bucket, totals.getOrDefault(bucket, 0L)))
+                .toList();
+    }
+
+    private Map<LocalDateTime, Long> hourlyTotals(LocalDateTime start, LocalDateTime end, Long productId, Long supplierId) {
+        StringBuilder sql = new StringBuilder("SELECT DATE_TRUNC('hour', s.sale_date) AS bucket, SUM(s.quantity) AS total FROM tb_sale s ");
+        List<Object> args = new ArrayList<>();
+        appendProductJoin(sql, supplierId, "s");
+        sql.append("WHERE s.sale_date >= ? AND s.sale_date < ? ");
+        args.add(Timestamp.valueOf(start));
+        args.add(Timestamp.valueOf(end));
+        appendFilters(sql, args, productId, supplierId, "s");
+        sql.append("GROUP BY DATE_TRUNC('hour', s.sale_date)");
+
+        Map<LocalDateTime, Long> totals = new HashMap<>();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            totals.put(rs.getTimestamp("bucket").toLocalDateTime(), rs.getLong("total"));
+        }, args.toArray());
+        return totals;
+    }
+
+    private Map<LocalDateTime, Long> dailyTotals(LocalDate start, LocalDate endExclusive, TimeGranularity granularity, Long productId, Long supplierId) {
+        StringBuilder sql = new StringBuilder("SELECT a.sale_date AS bucket, SUM(a.total_quantity_sold) AS total FROM aggregated_sale a ");
+        List<Object> args = new ArrayList<>();
+        appendProductJoin(sql, supplierId, "a");
+        sql.append("WHERE a.sale_date >= ? AND a.sale_date < ? ");
+        args.add(Date.valueOf(start));
+        args.add(Date.valueOf(endExclusive));
+        appendFilters(sql, args, productId, supplierId, "a");
+        sql.append("GROUP BY a.sale_date");
+
+        Map<LocalDateTime, Long> totals = new HashMap<>();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            LocalDateTime bucket = granularity.truncate(rs.getDate("bucket").toLocalDate().atStartOfDay());
+            totals.merge(bucket, rs.getLong("total"), Long::sum);
+        }, args.toArray());
+        return totals;
+    }
+
+    private void appendProductJoin(StringBuilder sql, Long supplierId, String alias) {
+        if (supplierId != null) {
+            sql.append("JOIN tb_product p ON p.id = ").append(alias).append(".product_id ");
+        }
+    }
+
+    private void appendFilters(StringBuilder sql, List<Object> args, Long productId, Long supplierId, String alias) {
+        if (productId != null) {
+            sql.append("AND ").append(alias).append(".product_id = ? ");
+            args.add(productId);
+        }
+        if (supplierId != null) {
+            sql.append("AND p.supplier_id = ? ");
+            args.add(supplierId);
+        }
+    }
+}
@@ -1,25 +1,37 @@
 package com.jo4ovms.StockifyAPI.service;
 
+import com.jo4ovms.StockifyAPI.event.CatalogChangedEvent;
+import com.jo4ovms.StockifyAPI.event.ReplenishmentInputsChangedEvent;
+import com.jo4ovms.StockifyAPI.event.StockBulkChangedEvent;
+import com.jo4ovms.StockifyAPI.event.StockChangedEvent;
 import com.jo4ovms.StockifyAPI.exception.DuplicateResourceException;
 import com.jo4ovms.StockifyAPI.exception.ResourceNotFoundException;
 import com.jo4ovms.StockifyAPI.mapper.SupplierMapper;
+import com.jo4ovms.StockifyAPI.model.CatalogEntryType;
+import com.jo4ovms.StockifyAPI.model.CursorSort;
 import com.jo4ovms.StockifyAPI.model.DTO.LogDTO;
 import com.jo4ovms.StockifyAPI.model.DTO.SupplierDTO;
 import com.jo4ovms.StockifyAPI.model.Supplier;
 import com.jo4ovms.StockifyAPI.repository.SupplierRepository;
 import com.jo4ovms.StockifyAPI.specification.SupplierSpecification;
+import com.jo4ovms.StockifyAPI.util.KeysetCursor;
+import com.jo4ovms.StockifyAPI.util.KeysetSlice;
 import com.jo4ovms.StockifyAPI.util.LogUtils;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import com.jo4ovms.StockifyAPI.model.Log.OperationType;
+import com.jo4ovms.StockifyAPI.util.SearchNormalizer;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Consumer;
 
 
@@ -30,13 +42,16 @@ public class SupplierService {
     private final SupplierMapper supplierMapper;
     private final LogService logService;
     private final LogUtils logUtils;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public SupplierService(SupplierRepository supplierRepository, SupplierMapper supplierMapper, LogService logService, LogUtils logUtils) {
+    public SupplierService(SupplierRepository supplierRepository, SupplierMapper supplierMapper, LogService logService, LogUtils logUtils,
+                           ApplicationEventPublisher eventPublisher) {
         this.supplierRepository = supplierRepository;
         this.supplierMapper = supplierMapper;
         this.logService = logService;
         this.logUtils = logUtils;
+        this.eventPublisher = eventPublisher;
     }
 
     private <T> boolean updateField(Supplier supplier, T newValue, T currentValue, Consumer<T> setter) {
@@ -54,6 +69,8 @@ public class SupplierService {
         }
         Supplier supplier = supplierMapper.toSupplier(supplierDTO);
         Supplier savedSupplier = supplierRepository.save(supplier);
+        eventPublisher.publishEvent(CatalogChangedEvent.saved(CatalogEntryType.SUPPLIER, savedSupplier.getId(),
+                savedSupplier.getName(), savedSupplier.getId()));
 
         LogDTO logDTO = new LogDTO();
         logDTO.setTimestamp(savedSupplier.getCreatedAt());
@@ -78,11 +95,18 @@ public class SupplierService {
         hasChanges |= updateField(supplier, supplierDTO.getPhone(), supplier.getPhone(), supplier::setPhone);
         hasChanges |= updateField(supplier, supplierDTO.getEmail(), supplier.getEmail(), supplier::setEmail);
         hasChanges |= updateField(supplier, supplierDTO.getProductType(), supplier.getProductType(), supplier::setProductType);
+        if (supplierDTO.getLeadTimeDays() != null
+                && updateField(supplier, supplierDTO.getLeadTimeDays(), supplier.getLeadTimeDays(), supplier::setLeadTimeDays)) {
+            eventPublisher.publishEvent(new ReplenishmentInputsChangedEvent(Set.of(supplier.getId())));
+            hasChanges = true;
+        }
 
         if (!hasChanges) {
             return oldSupplierDTO;
         }
         Supplier updatedSupplier = supplierRepository.save(supplier);
+        eventPublisher.publishEvent(CatalogChangedEvent.saved(CatalogEntryType.SUPPLIER, updatedSupplier.getId(),
+                updatedSupplier.getName(), updatedSupplier.getId()));
 
         LogDTO logDTO = new LogDTO();
         logDTO.setTimestamp(updatedSupplier.getUpdatedAt());
@@ -97,8 +121,9 @@ public class SupplierService {
     public Page<SupplierDTO> findAllSuppliers(int page, int size, String search) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Supplier> suppliers;
-        if (search != null && !search.isEmpty()) {
-            suppliers = supplierRepository.findByNameContainingIgnoreCase(search, pageable);
+        String normalizedSearch = SearchNormalizer.normalize(search);
+        if (normalizedSearch != null) {
+            suppliers = supplierRepository.searchByName(normalizedSearch, pageable);
         } else {
             suppliers = supplierRepository.findAll(pageable);
         }
@@ -106,6 +131,18 @@ public class SupplierService {
         return suppliers.map(supplierMapper::toSupplierDTO);
     }
 
+    public KeysetSlice<SupplierDTO> findSuppliersAfter(CursorSort sort, String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(after, sort);
+        Pageable limit = KeysetCursor.limit(size);
+        Slice<Supplier> slice = switch (sort) {
+            case ID -> supplierRepository.findAfterId(cursor.id(), limit);
+            case SUPPLIER_NAME -> supplierRepository.findAfterName(cursor.nameKey(), cursor.id(), limit);
+            case QUANTITY -> throw new IllegalArgumentException("Suppliers cannot be sorted by quantity.");
+        };
+        return KeysetSlice.of(slice, supplier -> new KeysetCursor(sort, sort == CursorSort.SUPPLIER_NAME ? supplier.getName() : null,
+                supplier.getId())).map(supplierMapper::toSupplierDTO);
+    }
+
     public SupplierDTO findSupplierById(Long id) {
         Supplier supplier = supplierRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier with id " + id + " not found."));
@@ -119,6 +156,17 @@ public class SupplierService {
 
        SupplierDTO oldSupplierDTO = supplierMapper.toSupplierDTO(supplier);
        supplierRepository.delete(supplier);
+       eventPublisher.publishEvent(CatalogChangedEvent.deleted(CatalogEntryType.SUPPLIER, supplier.getId()));
+       if (supplier.getProducts() != null && !supplier.getProducts().isEmpty()) {
+           supplier.getProducts().forEach(product -> {
+               eventPublisher.publishEvent(CatalogChangedEvent.deleted(CatalogEntryType.PRODUCT, product.getId()));
+               if (product.getStock() != null) {
+                   eventPublisher.publishEvent(StockChangedEvent.deleted(product.getId(), supplier.getId(),
+                           product.getStock().getQuantity(), product.getStock().getValue()));
+               }
+           });
+           eventPublisher.publishEvent(new StockBulkChangedEvent(supplier.getId()));
+       }
 
        LogDTO logDTO = new LogDTO();
        logDTO.setTimestamp(supplier.getUpdatedAt());
@@ -130,7 +178,10 @@ public class SupplierService {
 
    public Page<SupplierDTO> findSuppliersByName(String name, int page, int size) {
        Pageable pageable = PageRequest.of(page, size);
-       Page<Supplier> suppliers = supplierRepository.findByNameContainingIgnoreCase(name, pageable);
+       String normalizedName = SearchNormalizer.normalize(name);
+       Page<Supplier> suppliers = normalizedName == null
+               ? supplierRepository.findAll(pageable)
+               : supplierRepository.searchByName(normalizedName, pageable);
        if (suppliers.isEmpty()) {
            throw new ResourceNotFoundException("No suppliers found with name containing: " + name);
        }
@@ -0,0 +1,174 @@
+package com.jo4ovms.StockifyAPI.service.stock;
+
+import com.jo4ovms.StockifyAPI.event.ReplenishmentInputsChangedEvent;
+import com.jo4ovms.StockifyAPI.event.SalesFlushedEvent;
+import com.jo4ovms.StockifyAPI.model.DTO.ReplenishmentItemDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.SupplierReplenishmentDTO;
+import com.jo4ovms.StockifyAPI.repository.ReplenishmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class ReplenishmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplenishmentService.class);
+
+    private static final double SECONDS_PER_DAY = 86_400;
+
+    private static final String VELOCITY_SQL = "SELECT p.id AS product_id, p.supplier_id, " +
+            "COALESCE(sup.lead_time_days, :defaultLeadTime) AS lead_time_days, " +
+            "COALESCE(SUM(CASE WHEN a.sale_date < :today THEN a.total_quantity_sold END), 0) AS past_total, " +
+            "COALESCE(SUM(CASE WHEN a.sale_date < :today THEN a.total_quantity_sold * a.total_quantity_sold END), 0) AS past_squares, " +
+            "COALESCE(SUM(CASE WHEN a.sale_date = :today THEN a.total_quantity_sold END), 0) AS today_total " +
+            "FROM tb_product p JOIN tb_supplier sup ON sup.id = p.supplier_id " +
+            "LEFT JOIN aggregated_sale a ON a.product_id = p.id AND a.sale_date >= :firstDay AND a.sale_date <= :today ";
+
+    private static final String UPSERT_SQL = "INSERT INTO tb_replenishment (product_id, supplier_id, daily_velocity, lead_time_days, " +
+            "safety_stock, reorder_point, order_up_to_level, computed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (product_id) DO UPDATE SET supplier_id = EXCLUDED.supplier_id, daily_velocity = EXCLUDED.daily_velocity, " +
+            "lead_time_days = EXCLUDED.lead_time_days, safety_stock = EXCLUDED.safety_stock, " +
+            "reorder_point = EXCLUDED.reorder_point, order_up_to_level = EXCLUDED.order_up_to_level, computed_at = EXCLUDED.computed_at";
+
+    private final ReplenishmentRepository replenishmentRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<Long> dirtyProductIds = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtySupplierIds = ConcurrentHashMap.newKeySet();
+    private final int windowDays;
+    private final int defaultLeadTimeDays;
+    private final int reviewPeriodDays;
+    private final double serviceLevelZ;
+
+    public ReplenishmentService(ReplenishmentRepository replenishmentRepository, NamedParameterJdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${stockify.replenishment.window-days:28}") int windowDays,
+                                @Value("${stockify.replenishment.default-lead-time-days:7}") int defaultLeadTimeDays,
+                                @Value("${stockify.replenishment.review-period-days:7}") int reviewPeriodDays,
+                                @Value("${stockify.replenishment.service-level-z:1.65}") double serviceLevelZ) {
+        this.replenishmentRepository = replenishmentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.windowDays = windowDays;
+        this.defaultLeadTimeDays = defaultLeadTimeDays;
+        this.reviewPeriodDays = reviewPeriodDays;
+        this.serviceLevelZ = serviceLevelZ;
+    }
+
+    public List<SupplierReplenishmentDTO> getReplenishmentPlan(Long supplierId) {
+        Map<Long, SupplierReplenishmentDTO> bySupplier = new LinkedHashMap<>();
+        for (ReplenishmentItemDTO item : replenishmentRepository.findItemsToReorder(supplierId)) {
+            SupplierReplenishmentDTO supplier = bySupplier.computeIfAbsent(item.getSupplierId(), id ->
+                    new SupplierReplenishmentDTO(id, item.getSupplierName(), item.getLeadTimeDays(), 0, new ArrayList<>()));
+            supplier.getItems().add(item);
+            supplier.setTotalOrderQuantity(supplier.getTotalOrderQuantity() + item.getSuggestedOrderQuantity());
+        }
+        return new ArrayList<>(bySupplier.values());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReplenishmentInputsChanged(ReplenishmentInputsChangedEvent event) {
+        dirtySupplierIds.addAll(event.supplierIds());
+    }
+
+    @EventListener
+    public void onSalesFlushed(SalesFlushedEvent event) {
+        dirtyProductIds.addAll(event.productIds());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${stockify.replenishment.full-refresh-cron:0 15 0 * * *}")
+    public synchronized void refreshAll() {
+        dirtyProductIds.clear();
+        dirtySupplierIds.clear();
+        int refreshed = refresh(null, null);
+        jdbcTemplate.getJdbcTemplate().update("DELETE FROM tb_replenishment WHERE product_id NOT IN (SELECT id FROM tb_product)");
+        logger.info("Recomputed replenishment parameters for {} products", refreshed);
+    }
+
+    @Scheduled(fixedDelayString = "${stockify.replenishment.refresh-interval-ms:60000}")
+    public synchronized void refreshDirty() {
+        if (dirtyProductIds.isEmpty() && dirtySupplierIds.isEmpty()) {
+            return;
+        }
+        Set<Long> productIds = drain(dirtyProductIds);
+        Set<Long> supplierIds = drain(dirtySupplierIds);
+        refresh(productIds, supplierIds);
+    }
+
+    private int refresh(Collection<Long> productIds, Collection<Long> supplierIds) {
+        LocalDate today = LocalDate.now();
+        double todayFraction = Math.max(LocalTime.now().toSecondOfDay() / SECONDS_PER_DAY, 1 / 24.0);
+        int pastDays = windowDays - 1;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("defaultLeadTime", defaultLeadTimeDays)
+                .addValue("today", Date.valueOf(today))
+                .addValue("firstDay", Date.valueOf(today.minusDays(pastDays)));
+
+        StringBuilder sql = new StringBuilder(VELOCITY_SQL);
+        if (productIds != null || supplierIds != null) {
+            sql.append("WHERE p.id IN (:productIds) OR p.supplier_id IN (:supplierIds) ");
+            params.addValue("productIds", productIds == null || productIds.isEmpty() ? List.of(-1L) : productIds);
+            params.addValue("supplierIds", supplierIds == null || supplierIds.isEmpty() ? List.of(-1L) : supplierIds);
+        }
+        sql.append("GROUP BY p.id, p.supplier_id, sup.lead_time_days");
+
+        Timestamp computedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        jdbcTemplate.query(sql.toString(), params, rs -> {
+            long pastTotal = rs.getLong("past_total");
+            double pastSquares = rs.getDouble("past_squares");
+            long todayTotal = rs.getLong("today_total");
+            int leadTime = rs.getInt("lead_time_days");
+
+            double velocity = (pastTotal + todayTotal) / (pastDays + todayFraction);
+            double pastMean = pastDays > 0 ? pastTotal / (double) pastDays : velocity;
+            double variance = pastDays > 0 ? Math.max(0, pastSquares / pastDays - pastMean * pastMean) : 0;
+            int safetyStock = (int) Math.ceil(serviceLevelZ * Math.sqrt(variance * leadTime));
+            int reorderPoint = (int) Math.ceil(velocity * leadTime) + safetyStock;
+            int orderUpTo = reorderPoint + (int) Math.ceil(velocity * reviewPeriodDays);
+
+            rows.add(new Object[]{rs.getLong("product_id"), rs.getLong("supplier_id"), velocity, leadTime,
+                    safetyStock, reorderPoint, orderUpTo, computedAt});
+        });
+
+        if (!rows.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.getJdbcTemplate().batchUpdate(UPSERT_SQL, rows));
+        }
+        return rows.size();
+    }
+
+    private Set<Long> drain(Set<Long> dirty) {
+        Set<Long> drained = new HashSet<>();
+        for (Long id : dirty) {
+            if (dirty.remove(id)) {
+                drained.add(id);
+            }
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,185 @@
+package com.jo4ovms.StockifyAPI.service.stock;
+
+import com.jo4ovms.StockifyAPI.event.StockChangedEvent;
+import com.jo4ovms.StockifyAPI.exception.InsufficientStockException;
+import com.jo4ovms.StockifyAPI.exception.ResourceNotFoundException;
+import com.jo4ovms.StockifyAPI.model.DTO.LogDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.StockAdjustmentDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.StockAdjustmentResultDTO;
+import com.jo4ovms.StockifyAPI.model.Log.OperationType;
+import com.jo4ovms.StockifyAPI.model.Product;
+import com.jo4ovms.StockifyAPI.service.LogService;
+import com.jo4ovms.StockifyAPI.util.LogUtils;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+@Service
+public class StockAdjustmentService {
+
+    private static final String UPDATE_STOCK_SQL = "UPDATE tb_stock SET quantity = ?, available = ?, stock_value = ?, updated_at = ? WHERE id = ?";
+    private static final String UPDATE_PRODUCT_SQL = "UPDATE tb_product SET quantity = ?, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final LogService logService;
+    private final LogUtils logUtils;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxSize;
+
+    public StockAdjustmentService(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory, LogService logService, LogUtils logUtils, ApplicationEventPublisher eventPublisher,
+                                  @Value("${stockify.stock.bulk-max-size:5000}") int maxSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.logService = logService;
+        this.logUtils = logUtils;
+        this.eventPublisher = eventPublisher;
+        this.maxSize = maxSize;
+    }
+
+    @Transactional
+    public StockAdjustmentResultDTO adjustStocks(List<StockAdjustmentDTO> adjustments) {
+        Map<Long, StockAdjustmentDTO> byStock = validate(adjustments);
+
+        Map<Long, LockedStock> stocks = new TreeMap<>();
+        jdbcTemplate.query("SELECT id, quantity, stock_value, product_id FROM tb_stock WHERE id IN (" + placeholders(byStock.size()) +
+                ") ORDER BY id FOR UPDATE", rs -> {
+            stocks.put(rs.getLong("id"), new LockedStock(rs.getLong("product_id"), rs.getInt("quantity"), rs.getDouble("stock_value")));
+        }, byStock.keySet().toArray());
+        if (stocks.size() < byStock.size()) {
+            Long missing = byStock.keySet().stream().filter(id -> !stocks.containsKey(id)).findFirst().orElseThrow();
+            throw new ResourceNotFoundException("Stock with id " + missing + " not found");
+        }
+
+        List<Long> productIds = stocks.values().stream().map(LockedStock::productId).distinct().sorted().toList();
+        Map<Long, LockedProduct> products = new HashMap<>();
+        jdbcTemplate.query("SELECT id, quantity, supplier_id FROM tb_product WHERE id IN (" + placeholders(productIds.size()) +
+                ") ORDER BY id FOR UPDATE", rs -> {
+            products.put(rs.getLong("id"), new LockedProduct(rs.getLong("supplier_id"), rs.getInt("quantity")));
+        }, productIds.toArray());
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> stockRows = new ArrayList<>();
+        List<Object[]> oldValues = new ArrayList<>();
+        List<Object[]> newValues = new ArrayList<>();
+        List<StockChangedEvent> events = new ArrayList<>();
+        long netQuantityChange = 0;
+
+        for (Map.Entry<Long, LockedStock> entry : stocks.entrySet()) {
+            Long stockId = entry.getKey();
+            LockedStock stock = entry.getValue();
+            StockAdjustmentDTO adjustment = byStock.get(stockId);
+
+            int newQuantity = adjustment.getQuantity() != null ? adjustment.getQuantity() : stock.quantity() + adjustment.getDelta();
+            double newValue = adjustment.getValue() != null ? adjustment.getValue() : stock.value();
+            if (newQuantity < 0) {
+                throw new InsufficientStockException("Stock " + stockId + " cannot go below zero. Current quantity: " + stock.quantity());
+            }
+            if (newQuantity == stock.quantity() && Objects.equals(newValue, stock.value())) {
+                continue;
+            }
+
+            int quantityDifference = newQuantity - stock.quantity();
+            LockedProduct product = products.get(stock.productId());
+            if (quantityDifference > product.quantity) {
+                throw new InsufficientStockException("Insufficient product quantity for stock " + stockId + ". Available: " + product.quantity);
+            }
+            product.quantity -= quantityDifference;
+            product.changed |= quantityDifference != 0;
+            netQuantityChange += quantityDifference;
+
+            stockRows.add(new Object[]{newQuantity, newQuantity > 0, newValue, now, stockId});
+            oldValues.add(new Object[]{stockId, stock.quantity(), stock.value()});
+            newValues.add(new Object[]{stockId, newQuantity, newValue});
+            events.add(new StockChangedEvent(stock.productId(), product.supplierId, stock.quantity(), newQuantity, stock.value(), newValue));
+        }
+
+        if (!stockRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_STOCK_SQL, stockRows);
+            List<Long> changedProducts = products.entrySet().stream()
+                    .filter(entry -> entry.getValue().changed)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            jdbcTemplate.batchUpdate(UPDATE_PRODUCT_SQL, changedProducts.stream()
+                    .map(productId -> new Object[]{products.get(productId).quantity, now, productId})
+                    .toList());
+            evictAfterCommit(changedProducts);
+
+            LogDTO logDTO = new LogDTO();
+            logDTO.setTimestamp(now.toLocalDateTime());
+            logUtils.populateLog(logDTO, "Stock", (Long) stockRows.get(0)[4], OperationType.UPDATE.toString(), newValues, oldValues,
+                    "Bulk adjustment of " + stockRows.size() + " stocks, net quantity change " + netQuantityChange);
+            logService.createLog(logDTO);
+            events.forEach(eventPublisher::publishEvent);
+        }
+
+        return new StockAdjustmentResultDTO(byStock.size(), stockRows.size(), byStock.size() - stockRows.size(), netQuantityChange);
+    }
+
+    private void evictAfterCommit(List<Long> productIds) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                productIds.forEach(productId -> entityManagerFactory.getCache().evict(Product.class, productId));
+            }
+        });
+    }
+
+    private Map<Long, StockAdjustmentDTO> validate(List<StockAdjustmentDTO> adjustments) {
+        if (adjustments == null || adjustments.isEmpty()) {
+            throw new IllegalArgumentException("Adjustment list must not be empty.");
+        }
+        if (adjustments.size() > maxSize) {
+            throw new IllegalArgumentException("A bulk adjustment cannot exceed " + maxSize + " stocks.");
+        }
+        Map<Long, StockAdjustmentDTO> byStock = new TreeMap<>();
+        for (StockAdjustmentDTO adjustment : adjustments) {
+            if (adjustment == null || adjustment.getStockId() == null) {
+                throw new IllegalArgumentException("Stock ID is required.");
+            }
+            if ((adjustment.getQuantity() == null) == (adjustment.getDelta() == null)) {
+                throw new IllegalArgumentException("Stock " + adjustment.getStockId() + " needs exactly one of quantity or delta.");
+            }
+            if (adjustment.getValue() != null && adjustment.getValue() < 0) {
+                throw new IllegalArgumentException("Stock value must be zero or positive.");
+            }
+            if (byStock.put(adjustment.getStockId(), adjustment) != null) {
+                throw new IllegalArgumentException("Stock " + adjustment.getStockId() + " is adjusted more than once.");
+            }
+        }
+        return byStock;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private record LockedStock(long productId, int quantity, double value) {
+    }
+
+    private static class LockedProduct {
+        final long supplierId;
+        int quantity;
+        boolean changed;
+
+        LockedProduct(long supplierId, int quantity) {
+            this.supplierId = supplierId;
+            this.quantity = quantity;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.jo4ovms.StockifyAPI.service.stock;
+
+import com.jo4ovms.StockifyAPI.event.StockBulkChangedEvent;
+import com.jo4ovms.StockifyAPI.event.StockChangedEvent;
+import com.jo4ovms.StockifyAPI.model.DTO.StockAlertDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.StockDTO;
+import com.jo4ovms.StockifyAPI.model.StockAlertLevel;
+import com.jo4ovms.StockifyAPI.model.StockAlertRule;
+import com.jo4ovms.StockifyAPI.repository.StockAlertRuleRepository;
+import com.jo4ovms.StockifyAPI.repository.StockRepository;
+import com.jo4ovms.StockifyAPI.service.DashboardEventPublisher;
+import com.jo4ovms.StockifyAPI.service.KafkaProducerService;
+import com.jo4ovms.StockifyAPI.util.LogUtils;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Component
+public class StockAlertEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockAlertEngine.class);
+
+    private final StockAlertRuleRepository ruleRepository;
+    private final StockRepository stockRepository;
+    private final DashboardEventPublisher dashboardEventPublisher;
+    private final KafkaProducerService kafkaProducerService;
+    private final LogUtils logUtils;
+    private final Thresholds defaults;
+    private final Map<Long, StockAlertLevel> levels = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor();
+    private volatile Rules rules = new Rules(Map.of(), Map.of());
+
+    public StockAlertEngine(StockAlertRuleRepository ruleRepository, StockRepository stockRepository,
+                            DashboardEventPublisher dashboardEventPublisher,
+                            KafkaProducerService kafkaProducerService, LogUtils logUtils,
+                            @Value("${stockify.stock.summary-threshold:5}") int lowThreshold,
+                            @Value("${stockify.stock.critical-threshold:2}") int criticalThreshold,
+                            @Value("${stockify.alerts.hysteresis:2}") int hysteresis) {
+        this.ruleRepository = ruleRepository;
+        this.stockRepository = stockRepository;
+        this.dashboardEventPublisher = dashboardEventPublisher;
+        this.kafkaProducerService = kafkaProducerService;
+        this.logUtils = logUtils;
+        this.defaults = new Thresholds(lowThreshold, criticalThreshold, hysteresis);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${stockify.alerts.rule-refresh-interval-ms:60000}")
+    public void reloadRules() {
+        Map<Long, Thresholds> byProduct = new HashMap<>();
+        Map<Long, Thresholds> bySupplier = new HashMap<>();
+        for (StockAlertRule rule : ruleRepository.findAll()) {
+            Thresholds thresholds = new Thresholds(rule.getLowThreshold(), rule.getCriticalThreshold(), rule.getHysteresis());
+            if (rule.getProductId() != null) {
+                byProduct.put(rule.getProductId(), thresholds);
+            } else if (rule.getSupplierId() != null) {
+                bySupplier.put(rule.getSupplierId(), thresholds);
+            }
+        }
+        rules = new Rules(byProduct, bySupplier);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        if (event.newQuantity() == null) {
+            levels.remove(event.productId());
+            return;
+        }
+        update(event.productId(), event.supplierId(), event.oldQuantity(), event.newQuantity());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockBulkChanged(StockBulkChangedEvent event) {
+        for (StockDTO stock : stockRepository.findStockDTOsBySupplierId(event.supplierId(), Pageable.unpaged())) {
+            update(stock.getProductId(), event.supplierId(), stock.getQuantity(), stock.getQuantity());
+        }
+    }
+
+    private void update(Long productId, Long supplierId, Integer oldQuantity, int newQuantity) {
+        Thresholds thresholds = rules.resolve(productId, supplierId, defaults);
+        StockAlertLevel[] previous = new StockAlertLevel[1];
+        StockAlertLevel current = levels.compute(productId, (key, level) -> {
+            previous[0] = level != null ? level
+                    : oldQuantity == null ? StockAlertLevel.OK : thresholds.classify(oldQuantity);
+            return thresholds.next(previous[0], newQuantity);
+        });
+
+        if (current != previous[0]) {
+            emit(new StockAlertDTO(productId, supplierId, previous[0], current, newQuantity,
+                    thresholds.low(), thresholds.critical(), LocalDateTime.now()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    private void emit(StockAlertDTO alert) {
+        dispatcher.execute(() -> {
+            dashboardEventPublisher.publishAlert(alert);
+            try {
+                kafkaProducerService.sendStockAlert(alert.getProductId().toString(), logUtils.serialize(alert))
+                        .whenComplete((result, error) -> {
+                            if (error != null) {
+                                logger.warn("Could not publish stock alert for product {}: {}", alert.getProductId(), error.getMessage());
+                            }
+                        });
+            } catch (RuntimeException e) {
+                logger.warn("Could not publish stock alert for product {}: {}", alert.getProductId(), e.getMessage());
+            }
+        });
+    }
+
+    record Thresholds(int low, int critical, int hysteresis) {
+
+        StockAlertLevel classify(int quantity) {
+            if (quantity <= 0) {
+                return StockAlertLevel.OUT_OF_STOCK;
+            }
+            if (quantity <= critical) {
+                return StockAlertLevel.CRITICAL;
+            }
+            return quantity < low ? StockAlertLevel.LOW : StockAlertLevel.OK;
+        }
+
+        StockAlertLevel next(StockAlertLevel previous, int quantity) {
+            StockAlertLevel raw = classify(quantity);
+            for (int i = previous.ordinal(); i > raw.ordinal(); i--) {
+                StockAlertLevel level = StockAlertLevel.values()[i];
+                if (quantity <= upperBound(level) + hysteresis) {
+                    return level;
+                }
+            }
+            return raw;
+        }
+
+        private int upperBound(StockAlertLevel level) {
+            return switch (level) {
+                case OUT_OF_STOCK -> 0;
+                case CRITICAL -> critical;
+                case LOW -> low - 1;
+                case OK -> Integer.MAX_VALUE;
+            };
+        }
+    }
+
+    private record Rules(Map<Long, Thresholds> byProduct, Map<Long, Thresholds> bySupplier) {
+
+        Thresholds resolve(Long productId, Long supplierId, Thresholds defaults) {
+            Thresholds thresholds = byProduct.get(productId);
+            if (thresholds == null && supplierId != null) {
+                thresholds = bySupplier.get(supplierId);
+            }
+            return thresholds != null ? thresholds : defaults;
+        }
+    }
+}
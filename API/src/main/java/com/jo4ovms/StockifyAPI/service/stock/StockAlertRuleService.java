@@ -0,0 +1,90 @@
+package com.jo4ovms.StockifyAPI.service.stock;
+
+import com.jo4ovms.StockifyAPI.exception.DuplicateResourceException;
+import com.jo4ovms.StockifyAPI.exception.ResourceNotFoundException;
+import com.jo4ovms.StockifyAPI.mapper.StockAlertRuleMapper;
+import com.jo4ovms.StockifyAPI.model.DTO.StockAlertRuleDTO;
+import com.jo4ovms.StockifyAPI.model.StockAlertRule;
+import com.jo4ovms.StockifyAPI.repository.ProductRepository;
+import com.jo4ovms.StockifyAPI.repository.StockAlertRuleRepository;
+import com.jo4ovms.StockifyAPI.repository.SupplierRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class StockAlertRuleService {
+
+    private final StockAlertRuleRepository ruleRepository;
+    private final ProductRepository productRepository;
+    private final SupplierRepository supplierRepository;
+    private final StockAlertRuleMapper ruleMapper;
+    private final StockAlertEngine stockAlertEngine;
+
+    public StockAlertRuleService(StockAlertRuleRepository ruleRepository, ProductRepository productRepository, SupplierRepository supplierRepository,
+                                 StockAlertRuleMapper ruleMapper, StockAlertEngine stockAlertEngine) {
+        this.ruleRepository = ruleRepository;
+        this.productRepository = productRepository;
+        this.supplierRepository = supplierRepository;
+        this.ruleMapper = ruleMapper;
+        this.stockAlertEngine = stockAlertEngine;
+    }
+
+    public List<StockAlertRuleDTO> getAllRules() {
+        return ruleRepository.findAll().stream().map(ruleMapper::toStockAlertRuleDTO).toList();
+    }
+
+    public StockAlertRuleDTO createRule(StockAlertRuleDTO ruleDTO) {
+        return save(null, ruleDTO);
+    }
+
+    public StockAlertRuleDTO updateRule(Long id, StockAlertRuleDTO ruleDTO) {
+        if (!ruleRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Stock alert rule with id " + id + " not found");
+        }
+        return save(id, ruleDTO);
+    }
+
+    public void deleteRule(Long id) {
+        if (!ruleRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Stock alert rule with id " + id + " not found");
+        }
+        ruleRepository.deleteById(id);
+        stockAlertEngine.reloadRules();
+    }
+
+    private StockAlertRuleDTO save(Long id, StockAlertRuleDTO ruleDTO) {
+        if ((ruleDTO.getProductId() == null) == (ruleDTO.getSupplierId() == null)) {
+            throw new IllegalArgumentException("A stock alert rule needs exactly one of productId or supplierId.");
+        }
+        if (ruleDTO.getCriticalThreshold() >= ruleDTO.getLowThreshold()) {
+            throw new IllegalArgumentException("criticalThreshold must be lower than lowThreshold.");
+        }
+
+        Long otherId = id != null ? id : -1L;
+        if (ruleDTO.getProductId() != null) {
+            if (!productRepository.existsById(ruleDTO.getProductId())) {
+                throw new ResourceNotFoundException("Product with id " + ruleDTO.getProductId() + " not found");
+            }
+            if (ruleRepository.existsByProductIdAndIdNot(ruleDTO.getProductId(), otherId)) {
+                throw new DuplicateResourceException("Product " + ruleDTO.getProductId() + " already has a stock alert rule.");
+            }
+        } else {
+            if (!supplierRepository.existsById(ruleDTO.getSupplierId())) {
+                throw new ResourceNotFoundException("Supplier with id " + ruleDTO.getSupplierId() + " not found");
+            }
+            if (ruleRepository.existsBySupplierIdAndIdNot(ruleDTO.getSupplierId(), otherId)) {
+                throw new DuplicateResourceException("Supplier " + ruleDTO.getSupplierId() + " already has a stock alert rule.");
+            }
+        }
+
+        StockAlertRule rule = ruleMapper.toStockAlertRule(ruleDTO);
+        rule.setId(id);
+        if (rule.getHysteresis() == null) {
+            rule.setHysteresis(0);
+        }
+        StockAlertRule savedRule = ruleRepository.save(rule);
+        stockAlertEngine.reloadRules();
+        return ruleMapper.toStockAlertRuleDTO(savedRule);
+    }
+}
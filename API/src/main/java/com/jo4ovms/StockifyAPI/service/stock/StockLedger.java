@@ -0,0 +1,156 @@
+package com.jo4ovms.StockifyAPI.service.stock;
+
+import com.jo4ovms.StockifyAPI.event.StockChangedEvent;
+import com.jo4ovms.StockifyAPI.model.DTO.StockHistoryDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.StockMovementDTO;
+import com.jo4ovms.StockifyAPI.model.StockMovementType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class StockLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockLedger.class);
+
+    private static final String INSERT_MOVEMENT_SQL = "INSERT INTO stock_movement (product_id, movement_type, quantity_delta, occurred_at) VALUES (?, ?, ?, ?)";
+
+    private static final String SEED_OPENING_SQL = "INSERT INTO stock_movement (product_id, movement_type, quantity_delta, occurred_at) " +
+            "SELECT st.product_id, 'OPENING', st.quantity, COALESCE(st.updated_at, st.created_at) FROM tb_stock st " +
+            "WHERE st.quantity <> 0 AND NOT EXISTS (SELECT 1 FROM stock_movement m WHERE m.product_id = st.product_id)";
+
+    private static final String SNAPSHOT_SQL = "INSERT INTO stock_snapshot (product_id, quantity, last_movement_id, as_of) " +
+            "SELECT m.product_id, COALESCE(s.quantity, 0) + SUM(m.quantity_delta), MAX(m.id), " +
+            "GREATEST(COALESCE(s.as_of, MAX(m.occurred_at)), MAX(m.occurred_at)) " +
+            "FROM stock_movement m " +
+            "LEFT JOIN (SELECT product_id, MAX(last_movement_id) AS last_id FROM stock_snapshot GROUP BY product_id) l ON l.product_id = m.product_id " +
+            "LEFT JOIN stock_snapshot s ON s.product_id = l.product_id AND s.last_movement_id = l.last_id " +
+            "WHERE m.id > COALESCE(l.last_id, 0) AND m.id <= ? " +
+            "GROUP BY m.product_id, s.quantity, s.as_of";
+
+    private static final String LATEST_SNAPSHOT_SQL = "SELECT quantity, last_movement_id FROM stock_snapshot " +
+            "WHERE product_id = ? AND as_of < ? ORDER BY last_movement_id DESC LIMIT 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int snapshotSettleMinutes;
+    private final int historyMaxMovements;
+
+    public StockLedger(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                       @Value("${stockify.stock.snapshot-settle-minutes:5}") int snapshotSettleMinutes,
+                       @Value("${stockify.stock.history-max-movements:1000}") int historyMaxMovements) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotSettleMinutes = snapshotSettleMinutes;
+        this.historyMaxMovements = historyMaxMovements;
+    }
+
+    @EventListener
+    public void onStockChanged(StockChangedEvent event) {
+        append(event.productId(), event.movementType(), event.quantityDelta());
+    }
+
+    public void append(Long productId, StockMovementType type, int quantityDelta) {
+        if (quantityDelta == 0) {
+            return;
+        }
+        Object[] row = {productId, type.name(), quantityDelta, Timestamp.valueOf(LocalDateTime.now())};
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingRows().add(row);
+        } else {
+            jdbcTemplate.update(INSERT_MOVEMENT_SQL, row);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> pendingRows() {
+        List<Object[]> pending = (List<Object[]>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, rows);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                jdbcTemplate.batchUpdate(INSERT_MOVEMENT_SQL, rows);
+                rows.clear();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(StockLedger.this);
+            }
+        });
+        return rows;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOpeningBalances() {
+        int seeded = jdbcTemplate.update(SEED_OPENING_SQL);
+        if (seeded > 0) {
+            logger.info("Seeded opening stock movements for {} products", seeded);
+        }
+    }
+
+    @Scheduled(cron = "${stockify.stock.snapshot-cron:0 45 0 * * *}")
+    public void takeSnapshots() {
+        Integer snapshots = transactionTemplate.execute(status -> {
+            Long upTo = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM stock_movement WHERE occurred_at < ?", Long.class,
+                    Timestamp.valueOf(LocalDateTime.now().minusMinutes(snapshotSettleMinutes)));
+            return jdbcTemplate.update(SNAPSHOT_SQL, upTo);
+        });
+        logger.info("Took {} stock snapshots", snapshots);
+    }
+
+    public int quantityBefore(Long productId, LocalDateTime time) {
+        Timestamp before = Timestamp.valueOf(time);
+        List<long[]> snapshot = jdbcTemplate.query(LATEST_SNAPSHOT_SQL,
+                (rs, rowNum) -> new long[]{rs.getLong("quantity"), rs.getLong("last_movement_id")}, productId, before);
+        long base = snapshot.isEmpty() ? 0 : snapshot.get(0)[0];
+        long afterId = snapshot.isEmpty() ? 0 : snapshot.get(0)[1];
+
+        Long delta = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(quantity_delta), 0) FROM stock_movement " +
+                "WHERE product_id = ? AND id > ? AND occurred_at < ?", Long.class, productId, afterId, before);
+        return (int) (base + delta);
+    }
+
+    public StockHistoryDTO getHistory(Long productId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' cannot be after 'to'.");
+        }
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        int opening = quantityBefore(productId, start);
+
+        List<StockMovementDTO> movements = new ArrayList<>();
+        int[] running = {opening};
+        jdbcTemplate.query("SELECT id, movement_type, quantity_delta, occurred_at FROM stock_movement " +
+                        "WHERE product_id = ? AND occurred_at >= ? AND occurred_at < ? ORDER BY occurred_at, id LIMIT ?",
+                rs -> {
+                    running[0] += rs.getInt("quantity_delta");
+                    movements.add(new StockMovementDTO(rs.getLong("id"), StockMovementType.valueOf(rs.getString("movement_type")),
+                            rs.getInt("quantity_delta"), running[0], rs.getTimestamp("occurred_at").toLocalDateTime()));
+                }, productId, Timestamp.valueOf(start), Timestamp.valueOf(end), historyMaxMovements + 1);
+
+        boolean truncated = movements.size() > historyMaxMovements;
+        int closing = truncated ? quantityBefore(productId, end) : running[0];
+        return new StockHistoryDTO(productId, from, to, opening, closing,
+                truncated ? movements.subList(0, historyMaxMovements) : movements, truncated);
+    }
+}
@@ -0,0 +1,88 @@
+package com.jo4ovms.StockifyAPI.service.stock;
+
+import com.jo4ovms.StockifyAPI.event.StockBulkChangedEvent;
+import com.jo4ovms.StockifyAPI.event.StockChangedEvent;
+import com.jo4ovms.StockifyAPI.model.DTO.StockLimitsDTO;
+import com.jo4ovms.StockifyAPI.repository.StockRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class StockLimitsCache {
+
+    private static final long ALL_SUPPLIERS = -1L;
+
+    private final StockRepository stockRepository;
+    private final Map<Long, Limits> limitsBySupplier = new ConcurrentHashMap<>();
+
+    public StockLimitsCache(StockRepository stockRepository) {
+        this.stockRepository = stockRepository;
+    }
+
+    public StockLimitsDTO getLimits(Long supplierId) {
+        Limits limits = limitsBySupplier.computeIfAbsent(supplierId == null ? ALL_SUPPLIERS : supplierId,
+                key -> Limits.of(stockRepository.findLimits(supplierId)));
+        return limits.toDTO();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        apply(ALL_SUPPLIERS, event);
+        if (event.supplierId() != null) {
+            apply(event.supplierId(), event);
+        }
+    }
+
+    @TransactionalEventListener(value = StockBulkChangedEvent.class, fallbackExecution = true)
+    public void invalidateAll() {
+        limitsBySupplier.clear();
+    }
+
+    private void apply(Long key, StockChangedEvent event) {
+        limitsBySupplier.computeIfPresent(key, (k, limits) -> limits.apply(event));
+    }
+
+    private record Limits(Integer minQuantity, Integer maxQuantity, Double minValue, Double maxValue) {
+
+        static Limits of(StockLimitsDTO dto) {
+            return new Limits(dto.getMinQuantity(), dto.getMaxQuantity(), dto.getMinValue(), dto.getMaxValue());
+        }
+
+        Limits apply(StockChangedEvent event) {
+            boolean quantityChanged = !Objects.equals(event.oldQuantity(), event.newQuantity());
+            boolean valueChanged = !Objects.equals(event.oldValue(), event.newValue());
+
+            if (quantityChanged && event.oldQuantity() != null
+                    && (event.oldQuantity().equals(minQuantity) || event.oldQuantity().equals(maxQuantity))) {
+                return null;
+            }
+            if (valueChanged && event.oldValue() != null
+                    && (event.oldValue().equals(minValue) || event.oldValue().equals(maxValue))) {
+                return null;
+            }
+
+            Integer newMinQuantity = minQuantity;
+            Integer newMaxQuantity = maxQuantity;
+            if (event.newQuantity() != null) {
+                newMinQuantity = minQuantity == null ? event.newQuantity() : Math.min(minQuantity, event.newQuantity());
+                newMaxQuantity = maxQuantity == null ? event.newQuantity() : Math.max(maxQuantity, event.newQuantity());
+            }
+            Double newMinValue = minValue;
+            Double newMaxValue = maxValue;
+            if (event.newValue() != null) {
+                newMinValue = minValue == null ? event.newValue() : Math.min(minValue, event.newValue());
+                newMaxValue = maxValue == null ? event.newValue() : Math.max(maxValue, event.newValue());
+            }
+            return new Limits(newMinQuantity, newMaxQuantity, newMinValue, newMaxValue);
+        }
+
+        StockLimitsDTO toDTO() {
+            return new StockLimitsDTO(minQuantity != null ? minQuantity : 0, maxQuantity != null ? maxQuantity : 0,
+                    minValue != null ? minValue : 0.0, maxValue != null ? maxValue : 0.0);
+        }
+    }
+}
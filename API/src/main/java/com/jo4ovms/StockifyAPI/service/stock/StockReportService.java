@@ -1,25 +1,90 @@
 package com.jo4ovms.StockifyAPI.service.stock;
 
-import com.jo4ovms.StockifyAPI.mapper.StockMapper;
+import com.jo4ovms.StockifyAPI.model.DTO.StockBandDTO;
 import com.jo4ovms.StockifyAPI.model.DTO.StockDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.StockReportOverviewDTO;
+import com.jo4ovms.StockifyAPI.model.StockBand;
 import com.jo4ovms.StockifyAPI.repository.StockRepository;
+import com.jo4ovms.StockifyAPI.util.SearchNormalizer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class StockReportService {
 
+    private static final int MAX_OVERVIEW_PAGE_SIZE = 100;
+
     private final StockRepository stockRepository;
-    private final StockMapper stockMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final int defaultThreshold;
+    private final int defaultCriticalThreshold;
 
     @Autowired
-    public StockReportService(StockRepository stockRepository, StockMapper stockMapper) {
+    public StockReportService(StockRepository stockRepository, JdbcTemplate jdbcTemplate,
+                              @Value("${stockify.stock.summary-threshold:5}") int defaultThreshold,
+                              @Value("${stockify.stock.critical-threshold:2}") int defaultCriticalThreshold) {
         this.stockRepository = stockRepository;
-        this.stockMapper = stockMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.defaultThreshold = defaultThreshold;
+        this.defaultCriticalThreshold = defaultCriticalThreshold;
+    }
+
+    public StockReportOverviewDTO getOverview(String query, Long supplierId, Integer threshold, Integer criticalThreshold, int size) {
+        int adequateFrom = threshold != null ? threshold : defaultThreshold;
+        int criticalUpTo = criticalThreshold != null ? criticalThreshold : Math.min(defaultCriticalThreshold, adequateFrom - 1);
+        if (criticalUpTo < 0 || criticalUpTo >= adequateFrom) {
+            throw new IllegalArgumentException("Critical threshold must be at least zero and below the adequate threshold.");
+        }
+        if (size <= 0 || size > MAX_OVERVIEW_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_OVERVIEW_PAGE_SIZE + ".");
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM (" +
+                "SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.band ORDER BY b.quantity, b.id) AS band_row, " +
+                "COUNT(*) OVER (PARTITION BY b.band) AS band_count FROM (" +
+                "SELECT st.id, st.quantity, st.available, st.stock_value, p.id AS product_id, p.name AS product_name, " +
+                "sup.id AS supplier_id, sup.name AS supplier_name, " +
+                "CASE WHEN st.quantity <= 0 THEN 0 WHEN st.quantity <= ? THEN 1 WHEN st.quantity < ? THEN 2 ELSE 3 END AS band " +
+                "FROM tb_stock st JOIN tb_product p ON p.id = st.product_id JOIN tb_supplier sup ON sup.id = p.supplier_id ");
+        List<Object> args = new ArrayList<>(List.of(criticalUpTo, adequateFrom));
+        String normalizedQuery = SearchNormalizer.normalize(query);
+        String clause = "WHERE ";
+        if (normalizedQuery != null) {
+            sql.append(clause).append("p.search_name LIKE ? ");
+            args.add("%" + normalizedQuery + "%");
+            clause = "AND ";
+        }
+        if (supplierId != null) {
+            sql.append(clause).append("sup.id = ? ");
+            args.add(supplierId);
+        }
+        sql.append(") b) ranked WHERE band_row <= ? ORDER BY band, band_row");
+        args.add(size);
+
+        Map<StockBand, StockBandDTO> bands = new EnumMap<>(StockBand.class);
+        for (StockBand band : StockBand.values()) {
+            bands.put(band, new StockBandDTO(0, new ArrayList<>()));
+        }
+        jdbcTemplate.query(sql.toString(), rs -> {
+            StockBandDTO band = bands.get(StockBand.values()[rs.getInt("band")]);
+            band.setCount(rs.getLong("band_count"));
+            band.getFirstPage().add(new StockDTO(rs.getLong("id"), rs.getInt("quantity"), rs.getBoolean("available"),
+                    rs.getDouble("stock_value"), rs.getLong("product_id"), rs.getString("product_name"),
+                    rs.getLong("supplier_id"), rs.getString("supplier_name")));
+        }, args.toArray());
+
+        return new StockReportOverviewDTO(criticalUpTo, adequateFrom, bands);
     }
 
 
@@ -33,8 +98,7 @@ public class StockReportService {
             pageRequest = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(direction, "quantity"));
         }
 
-        return stockRepository.searchAdequateStockByFilters(query, supplierId, threshold, pageRequest)
-                .map(stockMapper::toStockDTO);
+        return stockRepository.searchAdequateStockByFilters(SearchNormalizer.normalize(query), supplierId, threshold, pageRequest);
     }
 
     public Page<StockDTO> getFilteredCriticalStock(String query, Long supplierId, int threshold, String sortBy, String sortDirection, Pageable pageable) {
@@ -46,21 +110,18 @@ public class StockReportService {
         } else {
             pageRequest = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(direction, "quantity"));
         }
-        return stockRepository.searchCriticalStockByFilters(query, supplierId, threshold, pageRequest)
-                .map(stockMapper::toStockDTO);
+        return stockRepository.searchCriticalStockByFilters(SearchNormalizer.normalize(query), supplierId, threshold, pageRequest);
     }
 
     public Page<StockDTO> getFilteredLowStock(String query, Long supplierId, int threshold, String sortBy, String sortDirection, Pageable pageable) {
         Sort.Direction direction = sortDirection.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
         PageRequest pageRequest = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(direction, sortBy));
 
-        return stockRepository.searchLowStockByFilters(query, supplierId, 1, threshold - 1, pageRequest)
-                .map(stockMapper::toStockDTO);
+        return stockRepository.searchLowStockByFilters(SearchNormalizer.normalize(query), supplierId, 1, threshold - 1, pageRequest);
     }
 
 
     public Page<StockDTO> getFilteredOutOfStock(String query, Long supplierId, Pageable pageable) {
-        return stockRepository.searchOutOfStockByFilters(query, supplierId, pageable)
-                .map(stockMapper::toStockDTO);
+        return stockRepository.searchOutOfStockByFilters(SearchNormalizer.normalize(query), supplierId, pageable);
     }
 }
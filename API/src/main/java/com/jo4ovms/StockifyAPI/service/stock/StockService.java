@@ -1,30 +1,39 @@
 package com.jo4ovms.StockifyAPI.service.stock;
 
+import com.jo4ovms.StockifyAPI.event.StockChangedEvent;
 import com.jo4ovms.StockifyAPI.exception.ResourceNotFoundException;
 import com.jo4ovms.StockifyAPI.exception.ValidationException;
 import com.jo4ovms.StockifyAPI.mapper.StockMapper;
+import com.jo4ovms.StockifyAPI.model.CursorSort;
 import com.jo4ovms.StockifyAPI.model.DTO.LogDTO;
 import com.jo4ovms.StockifyAPI.model.DTO.StockDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.StockHistoryDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.StockLimitsDTO;
 import com.jo4ovms.StockifyAPI.model.DTO.StockSummaryDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.StockValuationDTO;
 import com.jo4ovms.StockifyAPI.model.Product;
 import com.jo4ovms.StockifyAPI.model.Stock;
 import com.jo4ovms.StockifyAPI.repository.ProductRepository;
 import com.jo4ovms.StockifyAPI.repository.StockRepository;
 import com.jo4ovms.StockifyAPI.service.LogService;
-import com.jo4ovms.StockifyAPI.specification.StockSpecifications;
+import com.jo4ovms.StockifyAPI.util.KeysetCursor;
+import com.jo4ovms.StockifyAPI.util.KeysetSlice;
 import com.jo4ovms.StockifyAPI.util.LogUtils;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import com.jo4ovms.StockifyAPI.model.Log.OperationType;
+import com.jo4ovms.StockifyAPI.util.SearchNormalizer;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import org.springframework.stereotype.Service;
 
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
 
@@ -37,14 +46,26 @@ public class StockService {
     private final ProductRepository productRepository;
     private final StockMapper stockMapper;
     private final LogService logService;
+    private final StockSummaryCounters stockSummaryCounters;
+    private final StockLimitsCache stockLimitsCache;
+    private final StockLedger stockLedger;
+    private final StockValuationTotals stockValuationTotals;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public StockService(StockRepository stockRepository, LogUtils logUtils, ProductRepository productRepository, StockMapper stockMapper, LogService logService) {
+    public StockService(StockRepository stockRepository, LogUtils logUtils, ProductRepository productRepository, StockMapper stockMapper, LogService logService,
+                        StockSummaryCounters stockSummaryCounters, StockLimitsCache stockLimitsCache, StockLedger stockLedger,
+                        StockValuationTotals stockValuationTotals, ApplicationEventPublisher eventPublisher) {
         this.stockRepository = stockRepository;
         this.logUtils = logUtils;
         this.productRepository = productRepository;
         this.stockMapper = stockMapper;
         this.logService = logService;
+        this.stockSummaryCounters = stockSummaryCounters;
+        this.stockLimitsCache = stockLimitsCache;
+        this.stockLedger = stockLedger;
+        this.stockValuationTotals = stockValuationTotals;
+        this.eventPublisher = eventPublisher;
     }
 
     private <T> boolean updateField(Stock stock, T newValue, T currentValue, Consumer<T> setter) {
@@ -78,6 +99,8 @@ public class StockService {
                stockMapper.toStockDTO(savedStock), null, "Created new Stock" );
 
        logService.createLog(logDTO);
+       eventPublisher.publishEvent(StockChangedEvent.created(product.getId(), product.getSupplier().getId(),
+               savedStock.getQuantity(), savedStock.getValue()));
        return stockMapper.toStockDTO(savedStock);
    }
 
@@ -90,6 +113,10 @@ public class StockService {
                .orElseThrow(() -> new ResourceNotFoundException("Product with id " + stockDTO.getProductId() + " not found"));
 
        StockDTO oldStockDTO = stockMapper.toStockDTO(stock);
+       Product oldProduct = stock.getProduct();
+       Long oldSupplierId = oldProduct.getSupplier().getId();
+       int oldQuantity = stock.getQuantity();
+       Double oldValue = stock.getValue();
 
        int quantityDifference = stockDTO.getQuantity() - stock.getQuantity();
 
@@ -118,12 +145,20 @@ public class StockService {
        logUtils.populateLog(logDTO, "Stock", updatedStock.getId(), OperationType.UPDATE.toString(), stockMapper.toStockDTO(updatedStock), oldStockDTO, "Updated Stock");
        logService.createLog(logDTO);
 
+       if (oldProduct.getId().equals(product.getId())) {
+           eventPublisher.publishEvent(new StockChangedEvent(product.getId(), product.getSupplier().getId(),
+                   oldQuantity, updatedStock.getQuantity(), oldValue, updatedStock.getValue()));
+       } else {
+           eventPublisher.publishEvent(StockChangedEvent.deleted(oldProduct.getId(), oldSupplierId, oldQuantity, oldValue));
+           eventPublisher.publishEvent(StockChangedEvent.created(product.getId(), product.getSupplier().getId(),
+                   updatedStock.getQuantity(), updatedStock.getValue()));
+       }
+
        return stockMapper.toStockDTO(updatedStock);
    }
 
     public Page<StockDTO> getAllStocks(Pageable pageable) {
-        return stockRepository.findAll(pageable).map(stock -> {
-            StockDTO stockDTO = stockMapper.toStockDTO(stock);
+        return stockRepository.findAllStockDTOs(pageable).map(stockDTO -> {
             stockDTO.setAvailable(stockDTO.getQuantity() > 0);
             return stockDTO;
         });
@@ -151,47 +186,67 @@ public class StockService {
         logDTO.setTimestamp(stock.getUpdatedAt());
         logUtils.populateLog(logDTO, "Stock", stock.getId(), OperationType.DELETE.toString(), null, oldStockDTO, "Deleted stock");
         logService.createLog(logDTO);
+        eventPublisher.publishEvent(StockChangedEvent.deleted(stock.getProduct().getId(), stock.getProduct().getSupplier().getId(),
+                stock.getQuantity(), stock.getValue()));
    }
 
+    public KeysetSlice<StockDTO> getStocksAfter(CursorSort sort, String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(after, sort);
+        Pageable limit = KeysetCursor.limit(size);
+        Slice<StockDTO> slice = switch (sort) {
+            case ID -> stockRepository.findStockDTOsAfterId(cursor.id(), limit);
+            case QUANTITY -> stockRepository.findStockDTOsAfterQuantity(cursor.quantityKey(), cursor.id(), limit);
+            case SUPPLIER_NAME -> stockRepository.findStockDTOsAfterSupplierName(cursor.supplierNameKey(), cursor.supplierIdKey(), cursor.id(), limit);
+        };
+        return KeysetSlice.of(slice, stock -> switch (sort) {
+            case ID -> new KeysetCursor(sort, null, stock.getId());
+            case QUANTITY -> new KeysetCursor(sort, String.valueOf(stock.getQuantity()), stock.getId());
+            case SUPPLIER_NAME -> new KeysetCursor(sort, KeysetCursor.supplierKey(stock.getSupplierName(), stock.getSupplierId()), stock.getProductId());
+        });
+    }
+
     public Page<StockDTO> getStocksBySupplier(Long supplierId, Pageable pageable) {
-        return stockRepository.findByProductSupplierId(supplierId, pageable)
-                .map(stockMapper::toStockDTO);
+        return stockRepository.findStockDTOsBySupplierId(supplierId, pageable);
     }
 
     public Page<StockDTO> searchStocks(String query, Pageable pageable) {
-        if (query == null || query.isEmpty()) {
-            return stockRepository.findAll(pageable).map(stockMapper::toStockDTO);
+        String normalizedQuery = SearchNormalizer.normalize(query);
+        if (normalizedQuery == null) {
+            return stockRepository.findAllStockDTOs(pageable);
         }
-        return stockRepository.searchByProductNameOrSupplier(query, pageable)
-                .map(stockMapper::toStockDTO);
+        return stockRepository.searchByProductNameOrSupplier(normalizedQuery, pageable);
     }
 
     public Page<StockDTO> getFilteredStocks(String query, Long supplierId, int minQuantity, int maxQuantity, double minValue, double maxValue, Pageable pageable) {
-        return stockRepository.findAll(
-                StockSpecifications.withFilters(query, supplierId, minQuantity, maxQuantity, minValue, maxValue),
-                pageable
-        ).map(stockMapper::toStockDTO);
+        return stockRepository.findFilteredStockDTOs(SearchNormalizer.normalize(query), supplierId,
+                minQuantity, maxQuantity, minValue, maxValue, pageable);
     }
 
 
-    public Integer getMaxQuantity() {
-        Object maxQuantity = stockRepository.findMaxQuantity();
-        return (maxQuantity != null) ? (Integer) maxQuantity : 0;
+    public StockLimitsDTO getStockLimits(Long supplierId) {
+        return stockLimitsCache.getLimits(supplierId);
     }
 
-    public Double getMaxValue() {
-        Object maxValue = stockRepository.findMaxValue();
-        return (maxValue != null) ? (Double) maxValue : 0.0;
+    public StockHistoryDTO getStockHistory(Long productId, LocalDate from, LocalDate to) {
+        return stockLedger.getHistory(productId, from, to);
+    }
+
+    public StockValuationDTO getStockValuation() {
+        return stockValuationTotals.getValuation();
     }
 
     public StockSummaryDTO getStockSummary() {
-        List<Stock> stocks = stockRepository.findAll();
-        long totalProducts = stocks.size();
-        long zeroQuantity = stocks.stream().filter(s -> s.getQuantity() == 0).count();
-        long aboveThreshold = stocks.stream().filter(s -> s.getQuantity() >= 5).count();
-        long betweenThreshold = stocks.stream().filter(s -> s.getQuantity() > 0 && s.getQuantity() < 5).count();
+        return stockSummaryCounters.snapshot();
+    }
 
-        return new StockSummaryDTO(totalProducts, zeroQuantity, aboveThreshold, betweenThreshold);
+    public StockSummaryDTO getStockSummary(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be greater than zero.");
+        }
+        if (threshold == stockSummaryCounters.getThreshold()) {
+            return stockSummaryCounters.snapshot();
+        }
+        return stockRepository.summarize(threshold);
     }
 
     public boolean existsInStock(Long productId) {
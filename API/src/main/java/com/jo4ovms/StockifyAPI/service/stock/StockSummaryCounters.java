@@ -0,0 +1,89 @@
+package com.jo4ovms.StockifyAPI.service.stock;
+
+import com.jo4ovms.StockifyAPI.event.StockBulkChangedEvent;
+import com.jo4ovms.StockifyAPI.event.StockChangedEvent;
+import com.jo4ovms.StockifyAPI.model.DTO.StockSummaryDTO;
+import com.jo4ovms.StockifyAPI.repository.StockRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class StockSummaryCounters {
+
+    private static final int MAX_RESYNC_ATTEMPTS = 3;
+
+    private final StockRepository stockRepository;
+    private final int threshold;
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong zeroQuantity = new AtomicLong();
+    private final AtomicLong aboveThreshold = new AtomicLong();
+    private final AtomicLong betweenThreshold = new AtomicLong();
+    private final AtomicLong changes = new AtomicLong();
+    private volatile boolean synced;
+
+    public StockSummaryCounters(StockRepository stockRepository,
+                                @Value("${stockify.stock.summary-threshold:5}") int threshold) {
+        this.stockRepository = stockRepository;
+        this.threshold = threshold;
+    }
+
+    public StockSummaryDTO snapshot() {
+        if (!synced) {
+            resync();
+        }
+        return new StockSummaryDTO(total.get(), zeroQuantity.get(), aboveThreshold.get(), betweenThreshold.get());
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        changes.incrementAndGet();
+        if (event.oldQuantity() != null) {
+            counterFor(event.oldQuantity()).decrementAndGet();
+            total.decrementAndGet();
+        }
+        if (event.newQuantity() != null) {
+            counterFor(event.newQuantity()).incrementAndGet();
+            total.incrementAndGet();
+        }
+    }
+
+    @TransactionalEventListener(value = StockBulkChangedEvent.class, fallbackExecution = true)
+    public void onStockBulkChanged() {
+        resync();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${stockify.stock.summary-resync-interval-ms:300000}")
+    public synchronized void resync() {
+        StockSummaryDTO summary;
+        int attempt = 0;
+        long changesBefore;
+        do {
+            changesBefore = changes.get();
+            summary = stockRepository.summarize(threshold);
+        } while (changes.get() != changesBefore && ++attempt < MAX_RESYNC_ATTEMPTS);
+
+        total.set(summary.getTotalProducts());
+        zeroQuantity.set(summary.getZeroQuantity());
+        aboveThreshold.set(summary.getAboveThreshold());
+        betweenThreshold.set(summary.getBetweenThreshold());
+        synced = true;
+    }
+
+    private AtomicLong counterFor(int quantity) {
+        if (quantity <= 0) {
+            return zeroQuantity;
+        }
+        return quantity >= threshold ? aboveThreshold : betweenThreshold;
+    }
+}
@@ -0,0 +1,184 @@
+package com.jo4ovms.StockifyAPI.service.stock;
+
+import com.jo4ovms.StockifyAPI.event.StockBulkChangedEvent;
+import com.jo4ovms.StockifyAPI.event.StockChangedEvent;
+import com.jo4ovms.StockifyAPI.model.DTO.StockValuationDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.SupplierValuationDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class StockValuationTotals {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockValuationTotals.class);
+
+    private static final BigDecimal TOLERANCE = new BigDecimal("0.01");
+
+    private static final String RECOMPUTE_SQL = "SELECT p.supplier_id, COUNT(*) AS stock_count, COALESCE(SUM(st.quantity), 0) AS total_quantity, " +
+            "COALESCE(SUM(st.quantity * CAST(st.stock_value AS DECIMAL(19, 6))), 0) AS total_value " +
+            "FROM tb_stock st JOIN tb_product p ON p.id = st.product_id GROUP BY p.supplier_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, Totals> totals = new ConcurrentHashMap<>();
+    private final Object reconcileLock = new Object();
+    private List<StockChangedEvent> heldDuringReconcile;
+    private volatile boolean synced;
+
+    public StockValuationTotals(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public StockValuationDTO getValuation() {
+        if (!synced) {
+            reconcile();
+        }
+        Map<Long, String> names = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM tb_supplier", rs -> {
+            names.put(rs.getLong("id"), rs.getString("name"));
+        });
+
+        List<SupplierValuationDTO> suppliers = new ArrayList<>();
+        long stockCount = 0;
+        long totalQuantity = 0;
+        BigDecimal totalValue = BigDecimal.ZERO;
+        for (Map.Entry<Long, Totals> entry : totals.entrySet()) {
+            Totals supplierTotals = entry.getValue();
+            stockCount += supplierTotals.stockCount();
+            totalQuantity += supplierTotals.totalQuantity();
+            totalValue = totalValue.add(supplierTotals.totalValue());
+            suppliers.add(new SupplierValuationDTO(entry.getKey(), names.get(entry.getKey()), supplierTotals.stockCount(),
+                    supplierTotals.totalQuantity(), money(supplierTotals.totalValue())));
+        }
+        suppliers.sort(Comparator.comparing(SupplierValuationDTO::getTotalValue).reversed());
+        return new StockValuationDTO(stockCount, totalQuantity, money(totalValue), suppliers);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onStockChanged(StockChangedEvent event) {
+        if (event.supplierId() == null) {
+            return;
+        }
+        if (heldDuringReconcile != null) {
+            heldDuringReconcile.add(event);
+        }
+        apply(totals, event);
+    }
+
+    private static void apply(Map<Long, Totals> target, StockChangedEvent event) {
+        target.compute(event.supplierId(), (supplierId, current) -> {
+            Totals updated = (current == null ? Totals.EMPTY : current)
+                    .minus(event.oldQuantity(), event.oldValue())
+                    .plus(event.newQuantity(), event.newValue());
+            return updated.stockCount() == 0 && updated.totalValue().signum() == 0 ? null : updated;
+        });
+    }
+
+    @TransactionalEventListener(value = StockBulkChangedEvent.class, fallbackExecution = true)
+    public void onStockBulkChanged() {
+        reconcile();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${stockify.valuation.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        synchronized (reconcileLock) {
+            synchronized (this) {
+                heldDuringReconcile = new ArrayList<>();
+            }
+            Map<Long, Totals> recomputed;
+            try {
+                recomputed = recompute();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    heldDuringReconcile = null;
+                }
+                throw e;
+            }
+            swap(recomputed);
+        }
+    }
+
+    private synchronized void swap(Map<Long, Totals> recomputed) {
+        heldDuringReconcile.forEach(event -> apply(recomputed, event));
+        heldDuringReconcile = null;
+
+        Set<Long> supplierIds = new HashSet<>(totals.keySet());
+        supplierIds.addAll(recomputed.keySet());
+        int drifted = 0;
+        for (Long supplierId : supplierIds) {
+            Totals actual = recomputed.get(supplierId);
+            if (synced && !Totals.matches(totals.get(supplierId), actual)) {
+                drifted++;
+            }
+            if (actual == null) {
+                totals.remove(supplierId);
+            } else {
+                totals.put(supplierId, actual);
+            }
+        }
+        if (drifted > 0) {
+            logger.warn("Stock valuation drifted for {} suppliers and was reconciled", drifted);
+        }
+        synced = true;
+    }
+
+    private Map<Long, Totals> recompute() {
+        Map<Long, Totals> recomputed = new HashMap<>();
+        jdbcTemplate.query(RECOMPUTE_SQL, rs -> {
+            recomputed.put(rs.getLong("supplier_id"),
+                    new Totals(rs.getLong("stock_count"), rs.getLong("total_quantity"), rs.getBigDecimal("total_value")));
+        });
+        return recomputed;
+    }
+
+    private static BigDecimal money(BigDecimal value) {
+        return value.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    record Totals(long stockCount, long totalQuantity, BigDecimal totalValue) {
+
+        static final Totals EMPTY = new Totals(0, 0, BigDecimal.ZERO);
+
+        Totals plus(Integer quantity, Double value) {
+            if (quantity == null) {
+                return this;
+            }
+            return new Totals(stockCount + 1, totalQuantity + quantity, totalValue.add(valueOf(quantity, value)));
+        }
+
+        Totals minus(Integer quantity, Double value) {
+            if (quantity == null) {
+                return this;
+            }
+            return new Totals(stockCount - 1, totalQuantity - quantity, totalValue.subtract(valueOf(quantity, value)));
+        }
+
+        static boolean matches(Totals tracked, Totals actual) {
+            Totals left = tracked == null ? EMPTY : tracked;
+            Totals right = actual == null ? EMPTY : actual;
+            return left.stockCount == right.stockCount && left.totalQuantity == right.totalQuantity
+                    && left.totalValue.subtract(right.totalValue).abs().compareTo(TOLERANCE) < 0;
+        }
+
+        private static BigDecimal valueOf(int quantity, Double value) {
+            return value == null ? BigDecimal.ZERO : BigDecimal.valueOf(value).multiply(BigDecimal.valueOf(quantity));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.jo4ovms.StockifyAPI.specification;
 
 import com.jo4ovms.StockifyAPI.model.Supplier;
+import com.jo4ovms.StockifyAPI.util.SearchNormalizer;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
@@ -9,15 +10,12 @@ import org.springframework.data.jpa.domain.Specification;
 public class SupplierSpecification {
     public static Specification<Supplier> hasName(String name) {
         return (Root<Supplier> root, jakarta.persistence.criteria.CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) -> {
-            if (name == null || name.trim().isEmpty()) {
+            String normalizedSearchTerm = SearchNormalizer.normalize(name);
+            if (normalizedSearchTerm == null) {
                 return criteriaBuilder.conjunction();
             }
 
-            String normalizedSearchTerm = name.toLowerCase();
-            return criteriaBuilder.like(
-                    criteriaBuilder.function("unaccent", String.class, criteriaBuilder.lower(root.get("name"))),
-                    "%" + normalizedSearchTerm + "%"
-            );
+            return criteriaBuilder.like(root.get("searchName"), "%" + normalizedSearchTerm + "%");
         };
     }
 
@@ -0,0 +1,73 @@
+package com.jo4ovms.StockifyAPI.util;
+
+import com.jo4ovms.StockifyAPI.model.CursorSort;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record KeysetCursor(CursorSort sort, String key, long id) {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final char SEPARATOR = '\n';
+
+    public static Pageable limit(int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        return PageRequest.of(0, size);
+    }
+
+    public static String supplierKey(String supplierName, Long supplierId) {
+        return supplierName + SEPARATOR + supplierId;
+    }
+
+    public static KeysetCursor decode(String token, CursorSort sort) {
+        if (token == null || token.isBlank()) {
+            return new KeysetCursor(sort, null, 0L);
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = decoded.indexOf(SEPARATOR);
+            int last = decoded.lastIndexOf(SEPARATOR);
+            if (first < 0 || first == last || CursorSort.valueOf(decoded.substring(0, first)) != sort) {
+                throw new IllegalArgumentException();
+            }
+            return new KeysetCursor(sort, decoded.substring(first + 1, last), Long.parseLong(decoded.substring(last + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor for sort " + sort + ".");
+        }
+    }
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + (key != null ? key : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int quantityKey() {
+        return key == null ? Integer.MIN_VALUE : Integer.parseInt(key);
+    }
+
+    public String nameKey() {
+        return key == null ? "" : key;
+    }
+
+    public String supplierNameKey() {
+        return key == null ? "" : key.substring(0, supplierSeparator());
+    }
+
+    public long supplierIdKey() {
+        return key == null ? 0L : Long.parseLong(key.substring(supplierSeparator() + 1));
+    }
+
+    private int supplierSeparator() {
+        int separator = key.lastIndexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor for sort " + sort + ".");
+        }
+        return separator;
+    }
+}
@@ -0,0 +1,21 @@
+package com.jo4ovms.StockifyAPI.util;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record KeysetSlice<T>(List<T> content, String next) {
+
+    public static <T> KeysetSlice<T> of(Slice<T> slice, Function<T, KeysetCursor> cursorOf) {
+        List<T> content = slice.getContent();
+        String next = slice.hasNext() && !content.isEmpty()
+                ? cursorOf.apply(content.get(content.size() - 1)).encode()
+                : null;
+        return new KeysetSlice<>(content, next);
+    }
+
+    public <R> KeysetSlice<R> map(Function<T, R> mapper) {
+        return new KeysetSlice<>(content.stream().map(mapper).toList(), next);
+    }
+}
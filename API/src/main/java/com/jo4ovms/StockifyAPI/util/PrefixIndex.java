@@ -0,0 +1,125 @@
+package com.jo4ovms.StockifyAPI.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+public class PrefixIndex<K, V> {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final char PREFIX_END = '\uffff';
+
+    private final int maxTokensPerEntry;
+    private final int maxCandidates;
+    private final ConcurrentSkipListMap<String, Entry<K, V>> tokenIndex = new ConcurrentSkipListMap<>();
+    private final Map<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    private long nextSequence;
+
+    public PrefixIndex(int maxTokensPerEntry, int maxCandidates) {
+        if (maxTokensPerEntry <= 0 || maxCandidates <= 0) {
+            throw new IllegalArgumentException("Prefix index limits must be greater than zero.");
+        }
+        this.maxTokensPerEntry = maxTokensPerEntry;
+        this.maxCandidates = maxCandidates;
+    }
+
+    public synchronized void put(K key, String text, V value) {
+        remove(key);
+        String normalized = SearchNormalizer.normalize(text);
+        if (normalized == null) {
+            return;
+        }
+        List<String> tokens = tokenize(normalized, maxTokensPerEntry);
+        Entry<K, V> entry = new Entry<>(key, normalized, value, tokens, nextSequence++);
+        for (String token : tokens) {
+            tokenIndex.put(indexKey(token, entry.sequence()), entry);
+        }
+        entries.put(key, entry);
+    }
+
+    public synchronized void putIfAbsent(K key, String text, V value) {
+        if (!entries.containsKey(key)) {
+            put(key, text, value);
+        }
+    }
+
+    public synchronized void remove(K key) {
+        Entry<K, V> existing = entries.remove(key);
+        if (existing != null) {
+            for (String token : existing.tokens()) {
+                tokenIndex.remove(indexKey(token, existing.sequence()));
+            }
+        }
+    }
+
+    public List<V> search(String query, int limit, Predicate<V> filter) {
+        String normalized = SearchNormalizer.normalize(query);
+        if (normalized == null || limit <= 0) {
+            return List.of();
+        }
+        List<String> queryTokens = tokenize(normalized, Integer.MAX_VALUE);
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+        String lookup = queryTokens.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+
+        Set<Long> seen = new HashSet<>();
+        List<Entry<K, V>> matches = new ArrayList<>();
+        int scanned = 0;
+        for (Entry<K, V> entry : tokenIndex.subMap(lookup, true, lookup + PREFIX_END, false).values()) {
+            if (++scanned > maxCandidates) {
+                break;
+            }
+            if (seen.add(entry.sequence()) && filter.test(entry.value()) && matchesAll(entry.tokens(), queryTokens)) {
+                matches.add(entry);
+            }
+        }
+
+        matches.sort(Comparator.<Entry<K, V>>comparingInt(entry -> entry.text().startsWith(normalized) ? 0 : 1)
+                .thenComparingInt(entry -> entry.text().length())
+                .thenComparing(Entry::text));
+        return matches.stream().limit(limit).map(Entry::value).toList();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static boolean matchesAll(List<String> entryTokens, List<String> queryTokens) {
+        for (String queryToken : queryTokens) {
+            if (entryTokens.stream().noneMatch(token -> token.startsWith(queryToken))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> tokenize(String normalized, int maxTokens) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : TOKEN_SEPARATOR.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+                if (tokens.size() == maxTokens) {
+                    break;
+                }
+            }
+        }
+        return List.copyOf(tokens);
+    }
+
+    private static String indexKey(String token, long sequence) {
+        return token + KEY_SEPARATOR + sequence;
+    }
+
+    private record Entry<K, V>(K key, String text, V value, List<String> tokens, long sequence) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.jo4ovms.StockifyAPI.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+public class SpaceSavingSketch {
+
+    private static final Comparator<Counter> COUNT_ORDER = Comparator.comparingLong(Counter::count)
+            .thenComparing(Counter::key);
+
+    private final int capacity;
+    private final Map<Long, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> byCount = new TreeSet<>(COUNT_ORDER);
+
+    public SpaceSavingSketch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Sketch capacity must be greater than zero.");
+        }
+        this.capacity = capacity;
+    }
+
+    public synchronized void seed(Long key, long count) {
+        offer(key, count);
+    }
+
+    public synchronized void offer(Long key, long increment) {
+        Counter current = counters.get(key);
+        if (current != null) {
+            replace(current, new Counter(key, current.count() + increment, current.error()));
+        } else if (counters.size() < capacity) {
+            insert(new Counter(key, increment, 0));
+        } else {
+            Counter min = byCount.pollFirst();
+            counters.remove(min.key());
+            insert(new Counter(key, min.count() + increment, min.count()));
+        }
+    }
+
+    public synchronized List<Counter> top(int limit) {
+        List<Counter> result = new ArrayList<>(Math.min(limit, counters.size()));
+        Iterator<Counter> iterator = byCount.descendingIterator();
+        while (iterator.hasNext() && result.size() < limit) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void replace(Counter current, Counter updated) {
+        byCount.remove(current);
+        insert(updated);
+    }
+
+    private void insert(Counter counter) {
+        counters.put(counter.key(), counter);
+        byCount.add(counter);
+    }
+
+    public record Counter(Long key, long count, long error) {
+    }
+}
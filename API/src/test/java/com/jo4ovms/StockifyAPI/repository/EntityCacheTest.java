@@ -0,0 +1,170 @@
+package com.jo4ovms.StockifyAPI.repository;
+
+import com.jo4ovms.StockifyAPI.model.ERole;
+import com.jo4ovms.StockifyAPI.model.Product;
+import com.jo4ovms.StockifyAPI.model.Role;
+import com.jo4ovms.StockifyAPI.model.Stock;
+import com.jo4ovms.StockifyAPI.model.Supplier;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EntityCacheTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityCacheTest.class);
+
+    private static final int BENCHMARK_PRODUCTS = 2000;
+    private static final int BENCHMARK_ROUNDS = 5;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        stockRepository.deleteAll();
+        productRepository.deleteAll();
+        supplierRepository.deleteAll();
+        roleRepository.deleteAll();
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Test
+    void productAndSupplierAreServedFromSecondLevelCache() {
+        Long productId = createProducts(1).get(0);
+        inSession(session -> session.get(Product.class, productId).getSupplier().getName());
+
+        statistics.clear();
+        assertEquals("Supplier 0", inSession(session -> session.get(Product.class, productId).getSupplier().getName()));
+
+        assertEquals(1, statistics.getDomainDataRegionStatistics("product").getHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("supplier").getHitCount());
+        assertEquals(0, statistics.getEntityStatistics(Product.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(Supplier.class.getName()).getLoadCount());
+    }
+
+    @Test
+    void updatesInvalidateCachedProduct() {
+        Long productId = createProducts(1).get(0);
+        inSession(session -> session.get(Product.class, productId));
+
+        Product product = productRepository.findById(productId).orElseThrow();
+        product.setQuantity(42);
+        productRepository.save(product);
+
+        assertEquals(Integer.valueOf(42), inSession(session -> session.get(Product.class, productId).getQuantity()));
+    }
+
+    @Test
+    void lookupQueriesAreServedFromQueryCache() {
+        createProducts(1);
+        roleRepository.save(new Role(ERole.ROLE_USER));
+
+        supplierRepository.findDistinctProductTypes();
+        roleRepository.findByName(ERole.ROLE_USER);
+        statistics.clear();
+
+        assertEquals(List.of("Food"), supplierRepository.findDistinctProductTypes());
+        assertTrue(roleRepository.findByName(ERole.ROLE_USER).isPresent());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getQueryCacheHitCount());
+    }
+
+    // The report endpoints read DTO projections and never touch the cache, so this measures
+    // the entity dereferencing path (product -> supplier) that services still take.
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkProductSupplierLoading() {
+        List<Long> productIds = createProducts(BENCHMARK_PRODUCTS);
+
+        for (CacheMode mode : List.of(CacheMode.IGNORE, CacheMode.NORMAL)) {
+            loadGraph(productIds, mode);
+            statistics.clear();
+            long start = System.nanoTime();
+            for (int round = 0; round < BENCHMARK_ROUNDS; round++) {
+                loadGraph(productIds, mode);
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            logger.info("cacheMode={} products={} rounds={} elapsed={}ms statements={} l2Hits={} l2Misses={}",
+                    mode, productIds.size(), BENCHMARK_ROUNDS, elapsedMillis, statistics.getPrepareStatementCount(),
+                    statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount());
+        }
+    }
+
+    private void loadGraph(List<Long> productIds, CacheMode mode) {
+        for (Long productId : productIds) {
+            inSession(session -> {
+                session.setCacheMode(mode);
+                return session.get(Product.class, productId).getSupplier().getName();
+            });
+        }
+    }
+
+    private <T> T inSession(Function<Session, T> work) {
+        try (Session session = sessionFactory.openSession()) {
+            return work.apply(session);
+        }
+    }
+
+    private List<Long> createProducts(int count) {
+        Supplier supplier = supplierRepository.save(RepositoryFixtures.supplier(0));
+
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(RepositoryFixtures.product(supplier, "Product " + i, i));
+        }
+        productRepository.saveAll(products);
+
+        List<Stock> stocks = new ArrayList<>(count);
+        for (Product product : products) {
+            stocks.add(RepositoryFixtures.stock(product, product.getQuantity(), 12.0));
+        }
+        stockRepository.saveAll(stocks);
+
+        return products.stream().map(Product::getId).toList();
+    }
+}
@@ -0,0 +1,39 @@
+package com.jo4ovms.StockifyAPI.repository;
+
+import com.jo4ovms.StockifyAPI.model.Product;
+import com.jo4ovms.StockifyAPI.model.Stock;
+import com.jo4ovms.StockifyAPI.model.Supplier;
+
+final class RepositoryFixtures {
+
+    private RepositoryFixtures() {
+    }
+
+    static Supplier supplier(int index) {
+        Supplier supplier = new Supplier();
+        supplier.setName("Supplier " + index);
+        supplier.setPhone("(11) 99999-9999");
+        supplier.setEmail("supplier" + index + "@stockify.com");
+        supplier.setProductType("Food");
+        supplier.setCnpj("1122233300018" + index);
+        return supplier;
+    }
+
+    static Product product(Supplier supplier, String name, int quantity) {
+        Product product = new Product();
+        product.setName(name);
+        product.setValue(10.0);
+        product.setQuantity(quantity);
+        product.setSupplier(supplier);
+        return product;
+    }
+
+    static Stock stock(Product product, int quantity, double value) {
+        Stock stock = new Stock();
+        stock.setQuantity(quantity);
+        stock.setAvailable(quantity > 0);
+        stock.setValue(value);
+        stock.setProduct(product);
+        return stock;
+    }
+}
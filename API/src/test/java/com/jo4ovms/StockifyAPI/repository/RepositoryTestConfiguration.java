@@ -0,0 +1,16 @@
+package com.jo4ovms.StockifyAPI.repository;
+
+import com.jo4ovms.StockifyAPI.model.Stock;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+@SpringBootConfiguration
+@TestComponent
+@EnableJpaAuditing
+@EntityScan(basePackageClasses = Stock.class)
+@EnableJpaRepositories(basePackageClasses = StockRepository.class)
+class RepositoryTestConfiguration {
+}
@@ -0,0 +1,145 @@
+package com.jo4ovms.StockifyAPI.repository;
+
+import com.jo4ovms.StockifyAPI.model.CursorSort;
+import com.jo4ovms.StockifyAPI.model.DTO.StockDTO;
+import com.jo4ovms.StockifyAPI.model.Product;
+import com.jo4ovms.StockifyAPI.model.Supplier;
+import com.jo4ovms.StockifyAPI.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class StockProjectionQueryTest {
+
+    private static final int SUPPLIERS = 3;
+    private static final int STOCKS_PER_SUPPLIER = 4;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long firstSupplierId;
+
+    @BeforeEach
+    void setUp() {
+        for (int s = 0; s < SUPPLIERS; s++) {
+            Supplier supplier = supplierRepository.save(RepositoryFixtures.supplier(s));
+            if (firstSupplierId == null) {
+                firstSupplierId = supplier.getId();
+            }
+
+            for (int p = 0; p < STOCKS_PER_SUPPLIER; p++) {
+                Product product = productRepository.save(RepositoryFixtures.product(supplier, "Product " + s + "-" + p, 0));
+                stockRepository.save(RepositoryFixtures.stock(product, p, 5.0 + p));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void stockListingsIssueTheSameStatementsWhateverThePageSize() {
+        Sort bySupplier = Sort.by("product.supplier.name");
+
+        assertConstantStatements(stockRepository::findAllStockDTOs, Sort.unsorted());
+        assertConstantStatements(pageable -> stockRepository.findFilteredStockDTOs("product", null, 0, 100, 0.0, 100.0, pageable), Sort.unsorted());
+        assertConstantStatements(pageable -> stockRepository.searchAdequateStockByFilters(null, null, 0, pageable), bySupplier);
+        assertConstantStatements(pageable -> stockRepository.searchCriticalStockByFilters(null, null, 100, pageable), bySupplier);
+        assertConstantStatements(pageable -> stockRepository.searchLowStockByFilters(null, null, 0, 100, pageable), Sort.by("quantity"));
+    }
+
+    @Test
+    void projectionsCarryProductAndSupplierNames() {
+        Page<StockDTO> page = stockRepository.findStockDTOsBySupplierId(firstSupplierId, PageRequest.of(0, 10, Sort.by("quantity")));
+
+        assertEquals(STOCKS_PER_SUPPLIER, page.getTotalElements());
+        StockDTO first = page.getContent().get(0);
+        assertEquals("Product 0-0", first.getProductName());
+        assertEquals("Supplier 0", first.getSupplierName());
+        assertEquals(firstSupplierId, first.getSupplierId());
+    }
+
+    @Test
+    void keysetSlicesWalkEveryStockOnceWithoutCounting() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        List<StockDTO> seen = new ArrayList<>();
+        KeysetCursor cursor = KeysetCursor.decode(null, CursorSort.QUANTITY);
+        Slice<StockDTO> slice;
+        do {
+            statistics.clear();
+            slice = stockRepository.findStockDTOsAfterQuantity(cursor.quantityKey(), cursor.id(), KeysetCursor.limit(5));
+            assertEquals(1, statistics.getPrepareStatementCount());
+            seen.addAll(slice.getContent());
+            StockDTO last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            String token = new KeysetCursor(CursorSort.QUANTITY, String.valueOf(last.getQuantity()), last.getId()).encode();
+            cursor = KeysetCursor.decode(token, CursorSort.QUANTITY);
+        } while (slice.hasNext());
+
+        assertEquals(SUPPLIERS * STOCKS_PER_SUPPLIER, seen.stream().map(StockDTO::getId).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i - 1).getQuantity() <= seen.get(i).getQuantity());
+        }
+    }
+
+    @Test
+    void supplierNameKeysetWalksEveryStockOnce() {
+        List<StockDTO> seen = new ArrayList<>();
+        KeysetCursor cursor = KeysetCursor.decode(null, CursorSort.SUPPLIER_NAME);
+        Slice<StockDTO> slice;
+        do {
+            slice = stockRepository.findStockDTOsAfterSupplierName(cursor.supplierNameKey(), cursor.supplierIdKey(), cursor.id(), KeysetCursor.limit(5));
+            seen.addAll(slice.getContent());
+            StockDTO last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            String token = new KeysetCursor(CursorSort.SUPPLIER_NAME, KeysetCursor.supplierKey(last.getSupplierName(), last.getSupplierId()), last.getProductId()).encode();
+            cursor = KeysetCursor.decode(token, CursorSort.SUPPLIER_NAME);
+        } while (slice.hasNext());
+
+        assertEquals(SUPPLIERS * STOCKS_PER_SUPPLIER, seen.stream().map(StockDTO::getId).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i - 1).getSupplierName().compareTo(seen.get(i).getSupplierName()) <= 0);
+        }
+    }
+
+    private void assertConstantStatements(Function<Pageable, Page<StockDTO>> query, Sort sort) {
+        long smallPage = countStatements(query, PageRequest.of(0, 2, sort));
+        long largePage = countStatements(query, PageRequest.of(0, SUPPLIERS * STOCKS_PER_SUPPLIER - 1, sort));
+
+        assertEquals(2, smallPage);
+        assertEquals(smallPage, largePage);
+    }
+
+    private long countStatements(Function<Pageable, Page<StockDTO>> query, Pageable pageable) {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+        query.apply(pageable).getContent().forEach(stock -> stock.getSupplierName().length());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,154 @@
+package com.jo4ovms.StockifyAPI.repository;
+
+import com.jo4ovms.StockifyAPI.model.Product;
+import com.jo4ovms.StockifyAPI.model.Stock;
+import com.jo4ovms.StockifyAPI.model.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockRepositoryConcurrencyTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockRepositoryConcurrencyTest.class);
+
+    private static final int INITIAL_QUANTITY = 100;
+    private static final int THREADS = 16;
+    private static final int SALES_PER_THREAD = 20;
+    private static final int BENCHMARK_SALES_PER_THREAD = 500;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        stockRepository.deleteAll();
+        productRepository.deleteAll();
+        supplierRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentDecrementsNeverOversell() throws Exception {
+        Long productId = createStock(INITIAL_QUANTITY);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> results = new ArrayList<>();
+        Callable<Integer> seller = () -> {
+            int sold = 0;
+            for (int i = 0; i < SALES_PER_THREAD; i++) {
+                Integer updated = transactionTemplate.execute(status -> stockRepository.decrementQuantity(productId, 1));
+                sold += updated;
+            }
+            return sold;
+        };
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(seller));
+        }
+
+        int totalSold = 0;
+        for (Future<Integer> result : results) {
+            totalSold += result.get();
+        }
+        executor.shutdown();
+
+        Stock stock = stockRepository.findByProductId(productId).orElseThrow();
+        assertEquals(INITIAL_QUANTITY, totalSold);
+        assertEquals(0, stock.getQuantity());
+        assertFalse(stock.isAvailable());
+    }
+
+    @Test
+    void decrementIsRejectedWhenQuantityIsInsufficient() {
+        Long productId = createStock(3);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Integer updated = transactionTemplate.execute(status -> stockRepository.decrementQuantity(productId, 4));
+
+        assertEquals(0, updated);
+        assertEquals(3, stockRepository.findByProductId(productId).orElseThrow().getQuantity());
+    }
+
+    // Hot-SKU throughput of the conditional UPDATE against the read-lock-write sequence it replaced.
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkHotSkuDecrements() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int sales = THREADS * BENCHMARK_SALES_PER_THREAD;
+
+        Long productId = createStock(2 * sales);
+        long atomicMillis = runSellers(() -> transactionTemplate.execute(status -> stockRepository.decrementQuantity(productId, 1)));
+        assertEquals(sales, stockRepository.findByProductId(productId).orElseThrow().getQuantity());
+
+        long lockedMillis = runSellers(() -> transactionTemplate.execute(status -> {
+            Integer quantity = jdbcTemplate.queryForObject("SELECT quantity FROM tb_stock WHERE product_id = ? FOR UPDATE",
+                    Integer.class, productId);
+            return quantity >= 1 ? jdbcTemplate.update("UPDATE tb_stock SET quantity = ?, available = ? WHERE product_id = ?",
+                    quantity - 1, quantity - 1 > 0, productId) : 0;
+        }));
+        assertEquals(0, stockRepository.findByProductId(productId).orElseThrow().getQuantity());
+
+        logger.info("threads={} sales={} conditionalUpdate={}ms ({} sales/s) lockReadWrite={}ms ({} sales/s)", THREADS, sales,
+                atomicMillis, sales * 1000L / Math.max(1, atomicMillis), lockedMillis, sales * 1000L / Math.max(1, lockedMillis));
+    }
+
+    private long runSellers(Callable<Integer> sale) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                for (int j = 0; j < BENCHMARK_SALES_PER_THREAD; j++) {
+                    sale.call();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private Long createStock(int quantity) {
+        Supplier supplier = supplierRepository.save(RepositoryFixtures.supplier(0));
+        Product product = productRepository.save(RepositoryFixtures.product(supplier, "Product", 0));
+        stockRepository.save(RepositoryFixtures.stock(product, quantity, 12.0));
+        return product.getId();
+    }
+}
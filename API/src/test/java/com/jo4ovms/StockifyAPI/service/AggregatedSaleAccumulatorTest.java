@@ -0,0 +1,170 @@
+package com.jo4ovms.StockifyAPI.service;
+
+import com.jo4ovms.StockifyAPI.event.SalesFlushedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AggregatedSaleAccumulatorTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AggregatedSaleAccumulatorTest.class);
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final int THREADS = 16;
+    private static final int ADDS_PER_THREAD = 200_000;
+    private static final int HOT_PRODUCTS = 4;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final List<List<Object[]>> batches = new ArrayList<>();
+
+    private AggregatedSaleAccumulator accumulator;
+
+    @BeforeEach
+    void setUp() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            batches.add(List.copyOf(rows));
+            return new int[rows.size()];
+        });
+        accumulator = new AggregatedSaleAccumulator(jdbcTemplate, transactionManager, eventPublisher);
+    }
+
+    @Test
+    void failedFlushKeepsDeltasForTheNextFlush() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"))
+                .thenAnswer(invocation -> {
+                    List<Object[]> rows = invocation.getArgument(1);
+                    batches.add(List.copyOf(rows));
+                    return new int[rows.size()];
+                });
+
+        accumulator.add(1L, TODAY, 3, 1);
+        accumulator.add(2L, TODAY, 4, 2);
+        accumulator.flush();
+        verify(eventPublisher, never()).publishEvent(any(SalesFlushedEvent.class));
+
+        accumulator.add(1L, TODAY, 2, 3);
+        accumulator.flush();
+
+        assertEquals(Map.of(1L, 5L, 2L, 4L), flushedQuantities());
+        verify(eventPublisher).publishEvent(any(SalesFlushedEvent.class));
+    }
+
+    @Test
+    void replaceAggregatesDropsOnlyDeltasTheSwapCovered() {
+        accumulator.add(1L, TODAY, 7, 5);
+
+        accumulator.replaceAggregates(() -> {
+            accumulator.add(1L, TODAY, 2, 10);
+            accumulator.add(2L, TODAY, 6, 20);
+            return 15;
+        });
+        accumulator.add(1L, TODAY, 1, 12);
+        accumulator.add(2L, TODAY, 1, 21);
+        accumulator.flush();
+
+        assertEquals(Map.of(2L, 7L), flushedQuantities());
+    }
+
+    @Test
+    void failedSwapReleasesEveryHeldDelta() {
+        assertThrows(IllegalStateException.class, () -> accumulator.replaceAggregates(() -> {
+            accumulator.add(1L, TODAY, 2, 10);
+            throw new IllegalStateException("swap failed");
+        }));
+        accumulator.flush();
+
+        assertEquals(Map.of(1L, 2L), flushedQuantities());
+    }
+
+    @Test
+    void shutdownFlushesPendingDeltas() {
+        accumulator.add(1L, TODAY, 3, 1);
+        accumulator.add(1L, TODAY.minusDays(1), 4, 2);
+
+        accumulator.flushOnShutdown();
+
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).size());
+        assertTrue(batches.get(0).stream().anyMatch(row -> row[1].equals(Date.valueOf(TODAY.minusDays(1))) && row[2].equals(4L)));
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    // Add throughput on a few hot buckets while the scheduled flush drains them concurrently.
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkContendedAdds() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong sequence = new AtomicLong();
+        Future<?> flusher = executor.submit(() -> {
+            while (running.get()) {
+                accumulator.flush();
+            }
+        });
+
+        List<Future<?>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                for (int j = 0; j < ADDS_PER_THREAD; j++) {
+                    accumulator.add((long) (j % HOT_PRODUCTS), TODAY, 1, sequence.incrementAndGet());
+                }
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        running.set(false);
+        flusher.get();
+        executor.shutdown();
+        accumulator.flush();
+
+        long adds = (long) THREADS * ADDS_PER_THREAD;
+        assertEquals(adds, flushedQuantities().values().stream().mapToLong(Long::longValue).sum());
+        logger.info("threads={} adds={} elapsed={}ms ({} adds/s) flushes={}", THREADS, adds, elapsedMillis,
+                adds * 1000 / elapsedMillis, batches.size());
+    }
+
+    private Map<Long, Long> flushedQuantities() {
+        Map<Long, Long> totals = new HashMap<>();
+        batches.forEach(rows -> rows.forEach(row -> totals.merge((Long) row[0], (Long) row[2], Long::sum)));
+        return totals;
+    }
+}
@@ -0,0 +1,76 @@
+package com.jo4ovms.StockifyAPI.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jo4ovms.StockifyAPI.mapper.LogMapper;
+import com.jo4ovms.StockifyAPI.model.DTO.LogDTO;
+import com.jo4ovms.StockifyAPI.model.OutboxLog;
+import com.jo4ovms.StockifyAPI.repository.OutboxLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LogOutboxRelayTest {
+
+    private final OutboxLogRepository outboxLogRepository = mock(OutboxLogRepository.class);
+    private final LogMapper logMapper = mock(LogMapper.class);
+    private final KafkaProducerService kafkaProducerService = mock(KafkaProducerService.class);
+
+    @Test
+    void unserializableRowIsDeadLetteredAndTheRestOfTheBatchIsRelayed() {
+        OutboxLog good = outboxLog(1L);
+        OutboxLog poison = outboxLog(2L);
+        when(outboxLogRepository.findNextBatch(any())).thenReturn(List.of(good, poison));
+        when(logMapper.toLogDTO(good)).thenReturn(new LogDTO());
+        when(logMapper.toLogDTO(poison)).thenThrow(new IllegalArgumentException("unmappable"));
+        when(kafkaProducerService.sendMessage(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay().relay();
+
+        assertFalse(good.isDeadLettered());
+        assertTrue(poison.isDeadLettered());
+        verify(outboxLogRepository).saveAll(List.of(poison));
+        verify(outboxLogRepository).deleteAllInBatch(List.of(good));
+        verify(kafkaProducerService, times(1)).sendMessage(anyString());
+    }
+
+    @Test
+    void unacknowledgedSendKeepsTheBatchForRetry() {
+        OutboxLog good = outboxLog(1L);
+        when(outboxLogRepository.findNextBatch(any())).thenReturn(List.of(good));
+        when(logMapper.toLogDTO(good)).thenReturn(new LogDTO());
+        when(kafkaProducerService.sendMessage(anyString())).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        relay().relay();
+
+        assertFalse(good.isDeadLettered());
+        verify(outboxLogRepository, never()).deleteAllInBatch(any());
+        verify(outboxLogRepository, never()).saveAll(any());
+    }
+
+    private LogOutboxRelay relay() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        return new LogOutboxRelay(outboxLogRepository, logMapper, kafkaProducerService, new ObjectMapper(),
+                transactionManager, new SimpleMeterRegistry(), 200, 1000);
+    }
+
+    private static OutboxLog outboxLog(Long id) {
+        OutboxLog outboxLog = new OutboxLog();
+        outboxLog.setId(id);
+        return outboxLog;
+    }
+}
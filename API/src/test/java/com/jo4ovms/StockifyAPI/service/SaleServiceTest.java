@@ -0,0 +1,170 @@
+package com.jo4ovms.StockifyAPI.service;
+
+import com.jo4ovms.StockifyAPI.event.StockChangedEvent;
+import com.jo4ovms.StockifyAPI.mapper.SaleMapper;
+import com.jo4ovms.StockifyAPI.model.DTO.SaleDTO;
+import com.jo4ovms.StockifyAPI.model.DTO.SaleLineResultDTO;
+import com.jo4ovms.StockifyAPI.model.Product;
+import com.jo4ovms.StockifyAPI.model.Stock;
+import com.jo4ovms.StockifyAPI.model.Supplier;
+import com.jo4ovms.StockifyAPI.repository.AggregatedSaleRepository;
+import com.jo4ovms.StockifyAPI.repository.SaleRepository;
+import com.jo4ovms.StockifyAPI.repository.StockRepository;
+import com.jo4ovms.StockifyAPI.util.LogUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SaleServiceTest {
+
+    private static final long PRODUCT_ID = 1L;
+    private static final long UNKNOWN_PRODUCT_ID = 99L;
+
+    private final StockRepository stockRepository = mock(StockRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final AggregatedSaleService aggregatedSaleService = mock(AggregatedSaleService.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final Map<Long, Integer> stockTable = new HashMap<>();
+    private final List<String> statements = new ArrayList<>();
+
+    private SaleService saleService;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        saleService = new SaleService(stockRepository, mock(SaleMapper.class), mock(SaleRepository.class), mock(LogService.class),
+                aggregatedSaleService, mock(AggregatedSaleRepository.class), mock(LogUtils.class), jdbcTemplate, eventPublisher);
+
+        stockTable.put(PRODUCT_ID, 5);
+        when(stockRepository.findAllByProductIdIn(anyCollection())).thenReturn(List.of(stock(PRODUCT_ID, 5)));
+
+        doAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            Object[] args = (Object[]) invocation.getRawArguments()[2];
+            statements.add(sql);
+            if (sql.contains("FOR UPDATE")) {
+                for (Object productId : args) {
+                    if (stockTable.containsKey(productId)) {
+                        handler.processRow(row((Long) productId, stockTable.get(productId)));
+                    }
+                }
+            } else {
+                for (int i = 0; i < args.length; i += 2) {
+                    Long productId = (Long) args[i];
+                    int quantity = (Integer) args[i + 1];
+                    if (stockTable.getOrDefault(productId, -1) >= quantity) {
+                        stockTable.merge(productId, -quantity, Integer::sum);
+                        handler.processRow(row(productId, stockTable.get(productId)));
+                    }
+                }
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        doAnswer(invocation -> {
+            BatchPreparedStatementSetter setter = invocation.getArgument(1);
+            KeyHolder keyHolder = invocation.getArgument(2);
+            for (int i = 0; i < setter.getBatchSize(); i++) {
+                keyHolder.getKeyList().add(Map.of("id", 100L + i));
+            }
+            return new int[setter.getBatchSize()];
+        }).when(jdbcTemplate).batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class), any(KeyHolder.class));
+    }
+
+    @Test
+    void acceptsLinesThatFitTheLockedQuantityAndReportsTheRest() {
+        List<SaleLineResultDTO> results = saleService.registerSales(List.of(
+                sale(PRODUCT_ID, 3), sale(PRODUCT_ID, 3), sale(PRODUCT_ID, 2), sale(UNKNOWN_PRODUCT_ID, 1), sale(null, 1), sale(PRODUCT_ID, -1)));
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Insufficient stock. Requested quantity exceeds available stock.", results.get(1).getMessage());
+        assertTrue(results.get(2).isSuccess());
+        assertFalse(results.get(3).isSuccess());
+        assertEquals("Stock for product ID 99 not found", results.get(3).getMessage());
+        assertFalse(results.get(4).isSuccess());
+        assertFalse(results.get(5).isSuccess());
+
+        assertTrue(statements.get(0).contains("FOR UPDATE"));
+        assertTrue(statements.get(1).startsWith("UPDATE tb_stock"));
+        assertEquals(0, stockTable.get(PRODUCT_ID));
+        verify(eventPublisher).publishEvent(any(StockChangedEvent.class));
+        verify(aggregatedSaleService).updateAggregatedSales(eq(PRODUCT_ID), eq("Product"), eq(5L), eq(101L));
+    }
+
+    @Test
+    void unknownProductsAloneSkipTheDecrement() {
+        List<SaleLineResultDTO> results = saleService.registerSales(List.of(sale(UNKNOWN_PRODUCT_ID, 1)));
+
+        assertFalse(results.get(0).isSuccess());
+        assertEquals(1, statements.size());
+        assertEquals(5, stockTable.get(PRODUCT_ID));
+    }
+
+    @Test
+    void singleSaleRejectsMissingOrNonPositiveQuantity() {
+        SaleDTO missingQuantity = new SaleDTO();
+        missingQuantity.setProductId(PRODUCT_ID);
+
+        assertThrows(IllegalArgumentException.class, () -> saleService.registerSale(missingQuantity));
+        assertThrows(IllegalArgumentException.class, () -> saleService.registerSale(sale(PRODUCT_ID, -1)));
+        assertThrows(IllegalArgumentException.class, () -> saleService.registerSale(sale(null, 1)));
+        verify(stockRepository, never()).decrementQuantity(any(), anyInt());
+        assertEquals(5, stockTable.get(PRODUCT_ID));
+    }
+
+    private static SaleDTO sale(Long productId, int quantity) {
+        SaleDTO sale = new SaleDTO();
+        sale.setProductId(productId);
+        sale.setQuantity(quantity);
+        return sale;
+    }
+
+    private static Stock stock(long productId, int quantity) {
+        Supplier supplier = new Supplier();
+        supplier.setId(7L);
+        Product product = new Product();
+        product.setId(productId);
+        product.setName("Product");
+        product.setSupplier(supplier);
+        Stock stock = new Stock();
+        stock.setProduct(product);
+        stock.setQuantity(quantity);
+        stock.setValue(10.0);
+        return stock;
+    }
+
+    private static ResultSet row(long productId, int quantity) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("product_id")).thenReturn(productId);
+        when(rs.getInt("quantity")).thenReturn(quantity);
+        return rs;
+    }
+}
@@ -0,0 +1,31 @@
+package com.jo4ovms.StockifyAPI.service.stock;
+
+import com.jo4ovms.StockifyAPI.model.StockAlertLevel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StockAlertEngineTest {
+
+    private final StockAlertEngine.Thresholds thresholds = new StockAlertEngine.Thresholds(10, 3, 2);
+
+    @Test
+    void dropsImmediatelyToTheWorstCrossedLevel() {
+        assertEquals(StockAlertLevel.OK, thresholds.next(StockAlertLevel.OK, 10));
+        assertEquals(StockAlertLevel.LOW, thresholds.next(StockAlertLevel.OK, 9));
+        assertEquals(StockAlertLevel.CRITICAL, thresholds.next(StockAlertLevel.OK, 3));
+        assertEquals(StockAlertLevel.OUT_OF_STOCK, thresholds.next(StockAlertLevel.LOW, 0));
+    }
+
+    @Test
+    void recoversOnlyOnceQuantityClearsTheHysteresisBand() {
+        assertEquals(StockAlertLevel.LOW, thresholds.next(StockAlertLevel.LOW, 10));
+        assertEquals(StockAlertLevel.LOW, thresholds.next(StockAlertLevel.LOW, 11));
+        assertEquals(StockAlertLevel.OK, thresholds.next(StockAlertLevel.LOW, 12));
+
+        assertEquals(StockAlertLevel.CRITICAL, thresholds.next(StockAlertLevel.CRITICAL, 5));
+        assertEquals(StockAlertLevel.LOW, thresholds.next(StockAlertLevel.CRITICAL, 6));
+        assertEquals(StockAlertLevel.LOW, thresholds.next(StockAlertLevel.CRITICAL, 11));
+        assertEquals(StockAlertLevel.OK, thresholds.next(StockAlertLevel.OUT_OF_STOCK, 12));
+    }
+}
@@ -0,0 +1,39 @@
+package com.jo4ovms.StockifyAPI.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixIndexTest {
+
+    @Test
+    void matchesAccentFoldedTokenPrefixesRankingLeadingMatchesFirst() {
+        PrefixIndex<Long, String> index = new PrefixIndex<>(8, 100);
+        index.put(1L, "Pão de Queijo", "pao de queijo");
+        index.put(2L, "Queijo Minas", "queijo minas");
+        index.put(3L, "Açaí", "acai");
+
+        assertEquals(List.of("queijo minas", "pao de queijo"), index.search("QUEI", 10, value -> true));
+        assertEquals(List.of("acai"), index.search("aça", 10, value -> true));
+        assertEquals(List.of("pao de queijo"), index.search("queijo pa", 10, value -> true));
+        assertEquals(List.of("queijo minas"), index.search("que", 1, value -> true));
+    }
+
+    @Test
+    void updatesAndRemovalsReplaceIndexedTokens() {
+        PrefixIndex<Long, String> index = new PrefixIndex<>(8, 100);
+        index.put(1L, "Arroz", "arroz");
+        index.put(1L, "Feijão", "feijao");
+
+        assertTrue(index.search("arr", 10, value -> true).isEmpty());
+        assertEquals(List.of("feijao"), index.search("feij", 10, value -> true));
+
+        index.remove(1L);
+
+        assertTrue(index.search("feij", 10, value -> true).isEmpty());
+        assertEquals(0, index.size());
+    }
+}
@@ -0,0 +1,46 @@
+package com.jo4ovms.StockifyAPI.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpaceSavingSketchTest {
+
+    @Test
+    void keepsExactCountsWhileUnderCapacity() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(3);
+        sketch.offer(1L, 5);
+        sketch.offer(2L, 2);
+        sketch.offer(1L, 1);
+
+        List<SpaceSavingSketch.Counter> top = sketch.top(10);
+
+        assertEquals(2, top.size());
+        assertEquals(1L, top.get(0).key());
+        assertEquals(6, top.get(0).count());
+        assertEquals(0, top.get(0).error());
+    }
+
+    @Test
+    void heavyHittersSurviveEvictionWithBoundedError() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(4);
+        for (long key = 100; key < 200; key++) {
+            sketch.offer(key, 1);
+            sketch.offer(1L, 3);
+            sketch.offer(2L, 2);
+        }
+
+        List<SpaceSavingSketch.Counter> top = sketch.top(2);
+
+        assertEquals(1L, top.get(0).key());
+        assertEquals(2L, top.get(1).key());
+        for (SpaceSavingSketch.Counter counter : top) {
+            long trueCount = counter.key() == 1L ? 300 : 200;
+            assertTrue(counter.count() >= trueCount);
+            assertTrue(counter.count() - counter.error() <= trueCount);
+        }
+    }
+}